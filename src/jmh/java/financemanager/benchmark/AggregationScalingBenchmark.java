@@ -0,0 +1,47 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.AggregationEngine;
+import financemanager.core.model.CategoryTotals;
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.TransactionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AggregationScalingBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private TransactionStore store;
+    private ForkJoinPool pool;
+    private AggregationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new CompactTransactionStore();
+        store.addAll(new SyntheticData(42).transactions(size));
+        pool = new ForkJoinPool(Math.max(1, threads));
+        engine = new AggregationEngine(pool, threads > 0 ? 0 : Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long aggregate() {
+        CategoryTotals totals = engine.aggregate(store);
+        return totals.getTotalIncome() - totals.getTotalExpense();
+    }
+}
@@ -0,0 +1,53 @@
+package financemanager.benchmark;
+
+import financemanager.infrastructure.export.CsvExportService;
+import financemanager.infrastructure.export.ImportReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvImportScalingBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private CsvExportService exportService;
+    private ForkJoinPool pool;
+    private String filePath;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exportService = new CsvExportService();
+        filePath = exportService.exportTransactions(new SyntheticData(42).transactions(size), "scaling_" + size);
+        pool = threads > 0 ? new ForkJoinPool(threads) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        Files.deleteIfExists(Paths.get(filePath));
+    }
+
+    @Benchmark
+    public long importTransactions() {
+        long[] rows = new long[1];
+        ImportReport report = pool != null
+                ? exportService.importTransactionsParallel(filePath, chunk -> rows[0] += chunk.size(), pool)
+                : exportService.importTransactions(filePath, chunk -> rows[0] += chunk.size());
+        return rows[0] + report.getFailedCount();
+    }
+}
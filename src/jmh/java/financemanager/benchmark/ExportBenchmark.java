@@ -0,0 +1,55 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.Transaction;
+import financemanager.infrastructure.export.CsvExportService;
+import financemanager.infrastructure.export.ExportService;
+import financemanager.infrastructure.export.JsonExportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"csv", "json"})
+    public String format;
+
+    private List<Transaction> transactions;
+    private ExportService exportService;
+    private String fileName;
+    private String filePath;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = new SyntheticData(42).transactions(size);
+        exportService = format.equals("csv") ? new CsvExportService() : new JsonExportService();
+        fileName = "benchmark_" + format + "_" + size;
+        filePath = exportService.exportTransactions(transactions, fileName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(filePath));
+    }
+
+    @Benchmark
+    public String exportTransactions() {
+        return exportService.exportTransactions(transactions, fileName);
+    }
+
+    @Benchmark
+    public List<Transaction> importTransactions() {
+        return exportService.importTransactions(filePath);
+    }
+}
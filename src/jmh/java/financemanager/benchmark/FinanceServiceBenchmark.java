@@ -0,0 +1,50 @@
+package financemanager.benchmark;
+
+import financemanager.core.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinanceServiceBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private FinanceService financeService;
+    private LocalDate yearStart;
+    private LocalDate yearEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        financeService = new SyntheticData(42).loggedInService(size);
+        yearStart = SyntheticData.startDate().plusYears(1);
+        yearEnd = yearStart.plusYears(1).minusDays(1);
+    }
+
+    @Benchmark
+    public FinanceService.FinanceSummary getSummary() {
+        return financeService.getSummary();
+    }
+
+    @Benchmark
+    public Map<String, FinanceService.CategorySummary> getCategorySummaries() {
+        return financeService.getCategorySummaries();
+    }
+
+    @Benchmark
+    public Map<String, FinanceService.BudgetStatus> getBudgetStatuses() {
+        return financeService.getBudgetStatuses();
+    }
+
+    @Benchmark
+    public Map<String, Double> getExpensesByPeriod() {
+        return financeService.getExpensesByPeriod(yearStart, yearEnd);
+    }
+}
@@ -0,0 +1,177 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.CategoryDictionary;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionStore;
+
+import java.io.Serializable;
+import java.util.*;
+
+// Хранилище списком объектов — только точка сравнения для WalletFootprintComparison.
+public class HeapTransactionStore implements TransactionStore, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ArrayList<Transaction> transactions;
+    private final CategoryDictionary dictionary;
+    private int[] categoryIds;
+    private final NavigableMap<Long, Rows> rowsByDate;
+    private final List<Rows> rowsByCategory;
+
+    public HeapTransactionStore() {
+        this.transactions = new ArrayList<>();
+        this.dictionary = new CategoryDictionary();
+        this.categoryIds = new int[INITIAL_CAPACITY];
+        this.rowsByDate = new TreeMap<>();
+        this.rowsByCategory = new ArrayList<>();
+    }
+
+    @Override
+    public int size() {
+        return transactions.size();
+    }
+
+    @Override
+    public void add(Transaction transaction) {
+        int row = transactions.size();
+        transactions.add(transaction);
+        int categoryId = dictionary.intern(transaction.getCategory());
+        if (row == categoryIds.length) {
+            categoryIds = Arrays.copyOf(categoryIds, row * 2);
+        }
+        categoryIds[row] = categoryId;
+        if (categoryId == rowsByCategory.size()) {
+            rowsByCategory.add(new Rows());
+        }
+        rowsByCategory.get(categoryId).add(row);
+        if (transaction.getDate() != null) {
+            rowsByDate.computeIfAbsent(transaction.getDate().toEpochDay(), d -> new Rows()).add(row);
+        }
+    }
+
+    @Override
+    public void addAll(List<Transaction> batch) {
+        transactions.ensureCapacity(transactions.size() + batch.size());
+        for (Transaction transaction : batch) {
+            add(transaction);
+        }
+    }
+
+    @Override
+    public Transaction get(int row) {
+        return transactions.get(row);
+    }
+
+    @Override
+    public void clear() {
+        transactions.clear();
+        rowsByDate.clear();
+        rowsByCategory.replaceAll(rows -> new Rows());
+    }
+
+    @Override
+    public long epochDay(int row) {
+        Transaction transaction = transactions.get(row);
+        return transaction.getDate() != null ? transaction.getDate().toEpochDay() : NO_DATE;
+    }
+
+    @Override
+    public boolean isExpense(int row) {
+        return transactions.get(row).isExpense();
+    }
+
+    @Override
+    public CategoryDictionary categoryDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public int categoryId(int row) {
+        Objects.checkIndex(row, transactions.size());
+        return categoryIds[row];
+    }
+
+    @Override
+    public long amountMinor(int row) {
+        return transactions.get(row).getAmountMinor();
+    }
+
+    @Override
+    public void forEachInPeriod(long startDay, long endDay, RowVisitor visitor) {
+        for (Rows rows : rowsByDate.subMap(startDay, true, endDay, true).values()) {
+            for (int i = 0; i < rows.size(); i++) {
+                visitor.visit(rows.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void forEachInCategory(String category, int fromRow, int toRow, RowVisitor visitor) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return;
+        }
+        Rows rows = rowsByCategory.get(categoryId);
+        for (int i = rows.lowerBound(fromRow); i < rows.size() && rows.get(i) < toRow; i++) {
+            visitor.visit(rows.get(i));
+        }
+    }
+
+    @Override
+    public List<Transaction> getByCategory(String category) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return Collections.emptyList();
+        }
+        Rows rows = rowsByCategory.get(categoryId);
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                return transactions.get(rows.get(index));
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
+    }
+
+    private static final class Rows implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int lowerBound(int value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.User;
+import financemanager.infrastructure.storage.BinaryFileService;
+import financemanager.infrastructure.storage.JsonFileService;
+import financemanager.infrastructure.storage.StorageService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"json", "json-compact", "binary"})
+    public String format;
+
+    private Map<String, User> users;
+    private Path directory;
+    private StorageService storage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        users = new SyntheticData(42).users(1, size);
+        directory = Files.createTempDirectory("storage-benchmark");
+        String dataDir = directory + "/";
+        storage = switch (format) {
+            case "json" -> new JsonFileService(dataDir);
+            case "json-compact" -> new JsonFileService(dataDir, true);
+            case "binary" -> new BinaryFileService(dataDir);
+            default -> throw new IllegalArgumentException(format);
+        };
+        storage.saveUsers(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void saveUsers() {
+        storage.saveUsers(users);
+    }
+
+    @Benchmark
+    public Map<String, User> loadUsers() {
+        return storage.loadUsers();
+    }
+}
@@ -0,0 +1,35 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.User;
+import financemanager.infrastructure.storage.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Map;
+
+// Не JMH-бенчмарк: печатает размер на диске для каждого формата. Время сохранения и загрузки меряет StorageBenchmark.
+public class StorageFormatComparison {
+    private static final int USERS = 10;
+    private static final int TRANSACTIONS_PER_USER = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, User> users = new SyntheticData(42).users(USERS, TRANSACTIONS_PER_USER);
+
+        Path dir = Files.createTempDirectory("storage-benchmark");
+        report("json", dir.resolve("json"), new JsonFileService(dir.resolve("json") + "/"), users);
+        report("json-compact", dir.resolve("compact"), new JsonFileService(dir.resolve("compact") + "/", true), users);
+        report("binary", dir.resolve("binary"), new BinaryFileService(dir.resolve("binary") + "/"), users);
+    }
+
+    private static void report(String name, Path dir, StorageService storage, Map<String, User> users)
+            throws IOException {
+        Files.createDirectories(dir);
+        storage.saveUsers(users);
+
+        long size;
+        try (var files = Files.list(dir)) {
+            size = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        System.out.printf("%-14s size %,d bytes%n", name, size);
+    }
+}
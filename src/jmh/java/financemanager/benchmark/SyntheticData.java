@@ -0,0 +1,84 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+import financemanager.core.service.FinanceService;
+import financemanager.core.service.NotificationService;
+
+import java.time.LocalDate;
+import java.util.*;
+
+public class SyntheticData {
+    private static final String[] EXPENSE_CATEGORIES = {
+            "Food", "Transport", "Rent", "Health", "Entertainment", "Clothes", "Travel", "Utilities"
+    };
+    private static final String[] INCOME_CATEGORIES = {"Salary", "Bonus", "Interest"};
+    private static final LocalDate START_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 5 * 365;
+    private static final int INCOME_EVERY = 10;
+    private static final int MAX_EXPENSE = 5_000;
+    private static final int MAX_INCOME = 100_000;
+    private static final double BUDGET_LIMIT = 1_000_000;
+
+    private final Random random;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(i));
+        }
+        return transactions;
+    }
+
+    public Transaction transaction(int index) {
+        LocalDate date = START_DATE.plusDays(random.nextInt(DAYS));
+        if (index % INCOME_EVERY == 0) {
+            String category = INCOME_CATEGORIES[random.nextInt(INCOME_CATEGORIES.length)];
+            return new Transaction(category, 1 + random.nextInt(MAX_INCOME), Transaction.Type.INCOME,
+                    date, "income #" + index);
+        }
+        String category = EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)];
+        double amount = 1 + random.nextInt(MAX_EXPENSE) + random.nextInt(100) / 100.0;
+        return new Transaction(category, amount, Transaction.Type.EXPENSE, date, "expense #" + index);
+    }
+
+    public Wallet wallet(String login, int transactionCount) {
+        return wallet(login, transactions(transactionCount));
+    }
+
+    public static Wallet wallet(String login, List<Transaction> transactions) {
+        Wallet wallet = new Wallet(login);
+        for (String category : EXPENSE_CATEGORIES) {
+            wallet.setBudget(category, BUDGET_LIMIT);
+        }
+        wallet.importTransactions(transactions);
+        return wallet;
+    }
+
+    public Map<String, User> users(int userCount, int transactionsPerUser) {
+        Map<String, User> users = new HashMap<>();
+        for (int i = 0; i < userCount; i++) {
+            String login = "user" + i;
+            User user = new User(login, "password" + i);
+            Wallet wallet = wallet(login, transactionsPerUser);
+            users.put(login, User.restore(login, user.getPasswordHash(), wallet));
+        }
+        return users;
+    }
+
+    public FinanceService loggedInService(int transactionCount) {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        financeService.initializeUsers(users(1, transactionCount));
+        financeService.login("user0", "password0");
+        return financeService;
+    }
+
+    public static LocalDate startDate() {
+        return START_DATE;
+    }
+}
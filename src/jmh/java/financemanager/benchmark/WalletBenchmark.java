@@ -0,0 +1,82 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.Transaction;
+import financemanager.core.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletBenchmark {
+    private static final int BATCH = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Transaction> rows;
+    private Wallet wallet;
+    private List<Transaction> batch;
+    private LocalDate monthStart;
+    private LocalDate monthEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        rows = data.transactions(size);
+        wallet = SyntheticData.wallet("bench", rows);
+        batch = data.transactions(BATCH);
+        monthStart = SyntheticData.startDate().plusYears(1);
+        monthEnd = monthStart.plusMonths(1).minusDays(1);
+    }
+
+    // Каждое добавление идёт в свежий кошелёк из size строк; из-за пересборки на каждый вызов замер single-shot.
+    @State(Scope.Thread)
+    public static class AppendTarget {
+        private Wallet wallet;
+
+        @Setup(Level.Invocation)
+        public void setUp(WalletBenchmark benchmark) {
+            wallet = SyntheticData.wallet("bench", benchmark.rows);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    @OperationsPerInvocation(BATCH)
+    public Wallet addTransaction(AppendTarget target) {
+        for (Transaction transaction : batch) {
+            target.wallet.addTransaction(transaction);
+        }
+        return target.wallet;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    @OperationsPerInvocation(BATCH)
+    public Wallet addTransactions(AppendTarget target) {
+        target.wallet.addTransactions(batch);
+        return target.wallet;
+    }
+
+    @Benchmark
+    public Map<String, Double> getExpensesByPeriod() {
+        return wallet.getExpensesByPeriod(monthStart, monthEnd);
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionsByPeriod() {
+        return wallet.getTransactionsByPeriod(monthStart, monthEnd);
+    }
+}
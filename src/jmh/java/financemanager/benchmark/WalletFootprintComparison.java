@@ -0,0 +1,53 @@
+package financemanager.benchmark;
+
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionStore;
+import financemanager.core.model.Wallet;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Не JMH-бенчмарк: JMH меряет время и скорость выделения, а не кучу, которую удерживает кошелёк.
+public class WalletFootprintComparison {
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int GC_ROUNDS = 5;
+    private static final long GC_PAUSE_MILLIS = 100;
+
+    public static void main(String[] args) throws InterruptedException {
+        List<Transaction> transactions = new SyntheticData(42).transactions(TRANSACTIONS);
+
+        measure("heap objects", HeapTransactionStore::new, transactions);
+        measure("compact arrays", CompactTransactionStore::new, transactions);
+    }
+
+    private static void measure(String name, Supplier<TransactionStore> factory,
+                                List<Transaction> transactions) throws InterruptedException {
+        long before = usedHeap();
+        Wallet wallet = new Wallet("footprint", factory.get());
+        // Каждая строка пересоздаётся, чтобы хранилище не делило объекты с исходным списком.
+        for (Transaction transaction : transactions) {
+            wallet.addTransaction(Transaction.ofMinor(copy(transaction.getId()), transaction.getCategory(),
+                    transaction.getAmountMinor(), transaction.getType(),
+                    LocalDate.ofEpochDay(transaction.getDate().toEpochDay()), copy(transaction.getDescription())));
+        }
+        long after = usedHeap();
+
+        System.out.printf("%-16s %,d bytes per transaction (%d rows)%n",
+                name, (after - before) / wallet.getTransactions().size(), wallet.getTransactions().size());
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -34,6 +34,8 @@ public enum Command {
     EXPORT_JSON("export-json", "Экспорт транзакций в JSON"),
     IMPORT_CSV("import-csv", "Импорт транзакций из CSV"),
     IMPORT_JSON("import-json", "Импорт транзакций в JSON"),
+    EXPORT_COLUMNAR("export-columnar", "Экспорт транзакций в колоночный формат"),
+    IMPORT_COLUMNAR("import-columnar", "Импорт транзакций из колоночного формата"),
 
     // Переводы
     TRANSFER("transfer", "Перевод пользователю"),
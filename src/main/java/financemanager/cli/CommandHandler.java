@@ -2,7 +2,6 @@ package financemanager.cli;
 
 
 import financemanager.core.service.*;
-import financemanager.infrastructure.export.*;
 import financemanager.infrastructure.storage.*;
 import financemanager.infrastructure.validation.*;
 import financemanager.core.model.Transaction;
@@ -11,22 +10,28 @@ import java.time.LocalDate;
 import java.util.*;
 
 public class CommandHandler {
+    private static final int DASHBOARD_RECENT_TRANSACTIONS = 5;
+
     private final FinanceService financeService;
     private final StorageService storageService;
-    private final CsvExportService csvExportService;
-    private final JsonExportService jsonExportService;
+    private final ExportCommands exportCommands;
     private final NotificationService notificationService;
     private boolean running;
     private Scanner scanner;
 
     public CommandHandler() {
+        this(StorageServiceFactory.create(StorageServiceFactory.DEFAULT_MODE));
+    }
+
+    public CommandHandler(StorageService storageService) {
         this.notificationService = new NotificationService();
-        this.financeService = new FinanceService(this.notificationService);
-        this.storageService = new JsonFileService();
-        this.csvExportService = new CsvExportService();
-        this.jsonExportService = new JsonExportService();
+        this.storageService = storageService;
+        this.financeService = new FinanceService(this.notificationService,
+                storageService instanceof FinanceEventListener listener ? listener : FinanceEventListener.NONE,
+                storageService::createTransactionStore);
         this.running = true;
         this.scanner = new Scanner(System.in);
+        this.exportCommands = new ExportCommands(financeService, scanner);
 
         loadData();
     }
@@ -44,7 +49,7 @@ public class CommandHandler {
 
     private void saveData() {
         try {
-            storageService.saveUsers(financeService.getUsers());
+            financeService.snapshot(storageService::saveUsers);
             ConsolePrinter.printSuccess("Данные сохранены успешно");
         } catch (Exception e) {
             ConsolePrinter.printError("Не удалось сохранить данные: " + e.getMessage());
@@ -137,10 +142,12 @@ public class CommandHandler {
                 case CATEGORIES -> showCategories();
                 case EXPENSES -> showExpensesByCategories(args);
                 case PERIOD -> showExpensesByPeriod(args);
-                case EXPORT_CSV -> exportToCsv(args);
-                case EXPORT_JSON -> exportToJson(args);
-                case IMPORT_CSV -> importFromCsv(args);
-                case IMPORT_JSON -> importFromJson(args);
+                case EXPORT_CSV -> exportCommands.exportToCsv(args);
+                case EXPORT_JSON -> exportCommands.exportToJson(args);
+                case IMPORT_CSV -> exportCommands.importFromCsv(args);
+                case IMPORT_JSON -> exportCommands.importFromJson(args);
+                case EXPORT_COLUMNAR -> exportCommands.exportToColumnar(args);
+                case IMPORT_COLUMNAR -> exportCommands.importFromColumnar(args);
                 case TRANSFER -> transfer(args);
                 case HELP -> ConsolePrinter.printHelp();
                 case EXIT -> exit();
@@ -181,6 +188,7 @@ public class CommandHandler {
         try {
             financeService.login(login, password);
             ConsolePrinter.printSuccess("Вход выполнен успешно!");
+            ConsolePrinter.printDashboard(financeService.getDashboard(DASHBOARD_RECENT_TRANSACTIONS));
         } catch (Exception e) {
             ConsolePrinter.printError(e.getMessage());
         }
@@ -291,8 +299,11 @@ public class CommandHandler {
 
     private void showSummary() {
         try {
-            FinanceService.FinanceSummary summary = financeService.getSummary();
-            ConsolePrinter.printSummary(summary);
+            FinanceService.Dashboard dashboard = financeService.getDashboard(0);
+            ConsolePrinter.printSummary(dashboard.summary);
+            if (!dashboard.categories.isEmpty()) {
+                ConsolePrinter.printCategorySummary(dashboard.categories);
+            }
         } catch (Exception e) {
             ConsolePrinter.printError(e.getMessage());
         }
@@ -391,60 +402,6 @@ public class CommandHandler {
         financeService.clearTransactions();
     }
 
-    private void exportToCsv(String args) {
-        String fileName = args.isEmpty() ?
-                financeService.getCurrentUser().getLogin() + "_" + LocalDate.now() : args;
-
-        try {
-            List<Transaction> transactions = financeService.getWallet().getTransactions();
-            String filePath = csvExportService.exportTransactions(transactions, fileName);
-
-            ConsolePrinter.printSuccess("Данные экспортированы в файл: " + filePath);
-        } catch (Exception e) {
-            ConsolePrinter.printError(e.getMessage());
-        }
-    }
-
-    private void exportToJson(String args) {
-        String fileName = args.isEmpty() ?
-                financeService.getCurrentUser().getLogin() + "_" + LocalDate.now() : args;
-
-        try {
-            List<Transaction> transactions = financeService.getWallet().getTransactions();
-            String filePath = jsonExportService.exportTransactions(transactions, fileName);
-
-            ConsolePrinter.printSuccess("Данные экспортированы в файл: " + filePath);
-        } catch (Exception e) {
-            ConsolePrinter.printError(e.getMessage());
-        }
-    }
-
-    private void importFromCsv(String args) {
-        System.out.print("Путь к CSV файлу: ");
-        String filePath = scanner.nextLine().trim();
-
-        try {
-            List<Transaction> transactions = csvExportService.importTransactions(filePath);
-            financeService.importTransactions(transactions);
-            ConsolePrinter.printSuccess("Импортировано " + transactions.size() + " транзакций");
-        } catch (Exception e) {
-            ConsolePrinter.printError(e.getMessage());
-        }
-    }
-
-    private void importFromJson(String args) {
-        System.out.print("Путь к JSON файлу: ");
-        String filePath = scanner.nextLine().trim();
-
-        try {
-            List<Transaction> transactions = jsonExportService.importTransactions(filePath);
-            financeService.importTransactions(transactions);
-            ConsolePrinter.printSuccess("Импортировано " + transactions.size() + " транзакций");
-        } catch (Exception e) {
-            ConsolePrinter.printError(e.getMessage());
-        }
-    }
-
     private void transfer(String args) {
         System.out.print("Логин получателя: ");
         String toUser = scanner.nextLine().trim();
@@ -466,6 +423,7 @@ public class CommandHandler {
 
     private void exit() {
         saveData();
+        storageService.close();
         running = false;
         ConsolePrinter.printSuccess("До свидания!");
     }
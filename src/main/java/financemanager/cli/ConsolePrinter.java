@@ -1,6 +1,7 @@
 package financemanager.cli;
 
 import financemanager.core.service.FinanceService;
+import financemanager.infrastructure.export.ImportReport;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -29,6 +30,16 @@ public class ConsolePrinter {
         System.out.println("══════════════════════════════════════════════════════════\n");
     }
 
+    public static void printDashboard(FinanceService.Dashboard dashboard) {
+        printSummary(dashboard.summary);
+        if (!dashboard.budgets.isEmpty()) {
+            printBudgetStatus(dashboard.budgets);
+        }
+        if (!dashboard.recentTransactions.isEmpty()) {
+            printTransactions(dashboard.recentTransactions);
+        }
+    }
+
     public static void printCategorySummary(Map<String, FinanceService.CategorySummary> summaries) {
         if (summaries.isEmpty()) {
             printInfo("Нет данных по категориям");
@@ -172,6 +183,14 @@ public class ConsolePrinter {
         }
     }
 
+    public static void printImportReport(ImportReport report) {
+        printSuccess("Импортировано " + report.getImportedCount() + " транзакций");
+        if (report.hasErrors()) {
+            printError("Пропущено строк с ошибками: " + report.getFailedCount());
+            report.getErrorSamples().forEach(sample -> System.out.println("  " + sample));
+        }
+    }
+
     public static void printSuccess(String message) {
         System.out.println("УСПЕХ: " + message);
     }
@@ -215,8 +234,12 @@ public class ConsolePrinter {
         System.out.println("Экспорт/импорт:");
         System.out.println("  export-csv  - Экспорт транзакций в CSV");
         System.out.println("  export-json - Экспорт транзакций в JSON");
+        System.out.println("      параметры экспорта: [имя] --from=ДАТА --to=ДАТА --categories=A,B --type=income|expense --incremental");
+        System.out.println("      --compress=gzip|framed (импорт определяет сжатие автоматически)");
         System.out.println("  import-csv  - Импорт транзакций из CSV");
         System.out.println("  import-json  - Импорт транзакций из JSON");
+        System.out.println("  export-columnar - Колоночный экспорт для аналитики (те же параметры, без сжатия)");
+        System.out.println("  import-columnar - Импорт из колоночного формата [--from=ДАТА --to=ДАТА]");
         System.out.println();
         System.out.println("Переводы:");
         System.out.println("  transfer    - Перевод пользователю");
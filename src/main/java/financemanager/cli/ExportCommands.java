@@ -0,0 +1,176 @@
+package financemanager.cli;
+
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionFilter;
+import financemanager.core.model.Wallet;
+import financemanager.core.service.FinanceService;
+import financemanager.infrastructure.export.*;
+import financemanager.infrastructure.validation.InputValidator;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+class ExportCommands {
+    private final FinanceService financeService;
+    private final Scanner scanner;
+    private final CsvExportService csvExportService;
+    private final JsonExportService jsonExportService;
+    private final ExportCursorStore cursorStore;
+
+    ExportCommands(FinanceService financeService, Scanner scanner) {
+        this.financeService = financeService;
+        this.scanner = scanner;
+        this.csvExportService = new CsvExportService();
+        this.jsonExportService = new JsonExportService();
+        this.cursorStore = new ExportCursorStore();
+    }
+
+    void exportToCsv(String args) {
+        export("csv", args);
+    }
+
+    void exportToJson(String args) {
+        export("json", args);
+    }
+
+    void exportToColumnar(String args) {
+        export("columnar", args);
+    }
+
+    void importFromCsv(String args) {
+        System.out.print("Путь к CSV файлу: ");
+        String filePath = scanner.nextLine().trim();
+
+        try {
+            AtomicInteger duplicates = new AtomicInteger();
+            Consumer<List<Transaction>> sink = chunk ->
+                    duplicates.addAndGet(chunk.size() - financeService.importTransactions(chunk));
+            ImportReport report = args.contains("--parallel")
+                    ? csvExportService.importTransactionsParallel(filePath, sink, ForkJoinPool.commonPool())
+                    : csvExportService.importTransactions(filePath, sink);
+            ConsolePrinter.printImportReport(report);
+            printDuplicates(duplicates.get());
+        } catch (Exception e) {
+            ConsolePrinter.printError(e.getMessage());
+        }
+    }
+
+    void importFromJson(String args) {
+        System.out.print("Путь к JSON файлу: ");
+        String filePath = scanner.nextLine().trim();
+
+        try {
+            AtomicInteger duplicates = new AtomicInteger();
+            ImportReport report = jsonExportService.importTransactions(filePath, chunk ->
+                    duplicates.addAndGet(chunk.size() - financeService.importTransactions(chunk)));
+            ConsolePrinter.printImportReport(report);
+            printDuplicates(duplicates.get());
+        } catch (Exception e) {
+            ConsolePrinter.printError(e.getMessage());
+        }
+    }
+
+    void importFromColumnar(String args) {
+        System.out.print("Путь к колоночному файлу: ");
+        String filePath = scanner.nextLine().trim();
+
+        try {
+            TransactionFilter period = TransactionFilter.ALL;
+            for (String token : args.trim().split("\\s+")) {
+                if (token.startsWith("--from=") || token.startsWith("--to=")) {
+                    period = applyOption(period, token);
+                } else if (!token.isEmpty()) {
+                    throw new IllegalArgumentException("Неизвестный параметр импорта: " + token);
+                }
+            }
+            List<Transaction> transactions = new ColumnarExportService()
+                    .importTransactions(filePath, period.getFrom(), period.getTo());
+            int imported = financeService.importTransactions(transactions);
+            ConsolePrinter.printSuccess("Импортировано " + imported + " транзакций");
+            printDuplicates(transactions.size() - imported);
+        } catch (Exception e) {
+            ConsolePrinter.printError(e.getMessage());
+        }
+    }
+
+    private void export(String format, String args) {
+        String login = financeService.getCurrentUser().getLogin();
+        String fileName = login + "_" + LocalDate.now();
+        TransactionFilter filter = TransactionFilter.ALL;
+        CompressionFormat compression = CompressionFormat.NONE;
+        boolean incremental = false;
+
+        try {
+            for (String token : args.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (!token.startsWith("--")) {
+                    fileName = token;
+                } else if (token.equals("--incremental")) {
+                    incremental = true;
+                } else if (token.startsWith("--compress=")) {
+                    compression = CompressionFormat.fromName(token.substring("--compress=".length()));
+                } else {
+                    filter = applyOption(filter, token);
+                }
+            }
+
+            ExportService exportService = createService(format, compression);
+            Wallet wallet = financeService.getWallet();
+            String filePath = incremental
+                    ? exportService.exportIncremental(wallet, filter, fileName, cursorStore, login + "." + format)
+                    : exportService.exportTransactions(wallet, filter, fileName);
+            ConsolePrinter.printSuccess("Данные экспортированы в файл: " + filePath);
+        } catch (Exception e) {
+            ConsolePrinter.printError(e.getMessage());
+        }
+    }
+
+    private void printDuplicates(int duplicates) {
+        if (duplicates > 0) {
+            ConsolePrinter.printInfo("Пропущено уже существующих транзакций: " + duplicates);
+        }
+    }
+
+    private ExportService createService(String format, CompressionFormat compression) {
+        return switch (format) {
+            case "csv" -> new CsvExportService(compression);
+            case "json" -> new JsonExportService(compression);
+            default -> {
+                if (compression != CompressionFormat.NONE) {
+                    throw new IllegalArgumentException("Колоночный формат не поддерживает --compress");
+                }
+                yield new ColumnarExportService();
+            }
+        };
+    }
+
+    private TransactionFilter applyOption(TransactionFilter filter, String token) {
+        int separator = token.indexOf('=');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Неизвестный параметр экспорта: " + token);
+        }
+        String value = token.substring(separator + 1);
+        return switch (token.substring(0, separator)) {
+            case "--from" -> filter.withPeriod(InputValidator.parseDate(value), filter.getTo());
+            case "--to" -> filter.withPeriod(filter.getFrom(), InputValidator.parseDate(value));
+            case "--categories" -> filter.withCategories(new HashSet<>(Arrays.asList(value.split(","))));
+            case "--type" -> filter.withType(parseType(value));
+            default -> throw new IllegalArgumentException("Неизвестный параметр экспорта: " + token);
+        };
+    }
+
+    private Transaction.Type parseType(String value) {
+        if (value.equalsIgnoreCase("income") || value.equalsIgnoreCase("доход")) {
+            return Transaction.Type.INCOME;
+        }
+        if (value.equalsIgnoreCase("expense") || value.equalsIgnoreCase("расход")) {
+            return Transaction.Type.EXPENSE;
+        }
+        throw new IllegalArgumentException("Неизвестный тип транзакции: " + value);
+    }
+}
@@ -3,14 +3,32 @@ import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import financemanager.infrastructure.storage.StorageServiceFactory;
 public class Main {
+    private static final String STORAGE_OPTION = "--storage=";
+    private static final String CONVERT_OPTION = "--convert=";
+
     public static void main(String[] args) {
         try {
             PrintStream utf8PrintStreamOut = new PrintStream(System.out, true, StandardCharsets.UTF_8.name());
             PrintStream utf8PrintStreamErr = new PrintStream(System.err, true, StandardCharsets.UTF_8.name());
             System.setOut(utf8PrintStreamOut);
             System.setErr(utf8PrintStreamErr);
-            CommandHandler commandHandler = new CommandHandler();
+            String storageMode = StorageServiceFactory.DEFAULT_MODE;
+            for (String arg : args) {
+                if (arg.startsWith(STORAGE_OPTION)) {
+                    storageMode = arg.substring(STORAGE_OPTION.length());
+                } else if (arg.startsWith(CONVERT_OPTION)) {
+                    String[] modes = arg.substring(CONVERT_OPTION.length()).split(":");
+                    if (modes.length != 2) {
+                        throw new IllegalArgumentException("Используйте --convert=<из>:<в>, например --convert=json:binary");
+                    }
+                    int converted = StorageServiceFactory.convert(modes[0], modes[1]);
+                    ConsolePrinter.printSuccess("Сконвертировано пользователей: " + converted);
+                    return;
+                }
+            }
+            CommandHandler commandHandler = new CommandHandler(StorageServiceFactory.create(storageMode));
             commandHandler.start();
         } catch (Exception e) {
             System.err.println("Критическая ошибка: " + e.getMessage());
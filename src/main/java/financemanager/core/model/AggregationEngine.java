@@ -0,0 +1,81 @@
+package financemanager.core.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class AggregationEngine {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+    private static final int MIN_SPLIT_SIZE = 8_192;
+    private static final int SPLITS_PER_THREAD = 4;
+    private static final AggregationEngine SHARED =
+            new AggregationEngine(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public AggregationEngine(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static AggregationEngine shared() {
+        return SHARED;
+    }
+
+    public CategoryTotals aggregate(TransactionStore store) {
+        return fold(store, null, store.size());
+    }
+
+    public CategoryTotals aggregatePeriod(TransactionStore store, long startDay, long endDay) {
+        IntList rows = new IntList();
+        store.forEachInPeriod(startDay, endDay, rows::add);
+        return fold(store, rows, rows.size());
+    }
+
+    private CategoryTotals fold(TransactionStore store, IntList rows, int count) {
+        int categoryCount = store.categoryDictionary().size();
+        if (count < parallelThreshold || pool.getParallelism() < 2) {
+            return new FoldTask(store, rows, categoryCount, 0, count, count).compute();
+        }
+        int splitSize = Math.max(MIN_SPLIT_SIZE, count / (pool.getParallelism() * SPLITS_PER_THREAD));
+        return pool.invoke(new FoldTask(store, rows, categoryCount, 0, count, splitSize));
+    }
+
+    private static final class FoldTask extends RecursiveTask<CategoryTotals> {
+        private static final long serialVersionUID = 1L;
+
+        private final TransactionStore store;
+        private final IntList rows;
+        private final int categoryCount;
+        private final int from;
+        private final int to;
+        private final int splitSize;
+
+        FoldTask(TransactionStore store, IntList rows, int categoryCount, int from, int to, int splitSize) {
+            this.store = store;
+            this.rows = rows;
+            this.categoryCount = categoryCount;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+        }
+
+        @Override
+        protected CategoryTotals compute() {
+            if (to - from <= splitSize) {
+                CategoryTotals totals = new CategoryTotals(categoryCount);
+                for (int i = from; i < to; i++) {
+                    int row = rows != null ? rows.get(i) : i;
+                    totals.add(store.categoryId(row), store.isExpense(row), store.amountMinor(row));
+                }
+                return totals;
+            }
+
+            int middle = (from + to) >>> 1;
+            FoldTask left = new FoldTask(store, rows, categoryCount, from, middle, splitSize);
+            left.fork();
+            CategoryTotals right = new FoldTask(store, rows, categoryCount, middle, to, splitSize).compute();
+            return right.merge(left.join());
+        }
+    }
+}
@@ -8,48 +8,63 @@ public class Budget implements Serializable {
     public static final double MAX_PERCENTAGE = 80;
 
     private final String category;
-    private double limit;
-    private double spent;
+    private long limitMinor;
+    private long spentMinor;
 
     public Budget(String category, double limit) {
+        this(Money.ofMajor(limit), category);
+    }
+
+    private Budget(long limitMinor, String category) {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Категория не может быть пустой");
         }
-        if (limit < 0) {
+        if (limitMinor < 0) {
             throw new IllegalArgumentException("Лимит бюджета не может быть отрицательным");
         }
 
         this.category = category.trim();
-        this.limit = limit;
-        this.spent = 0.0;
+        this.limitMinor = limitMinor;
+        this.spentMinor = 0;
+    }
+
+    public static Budget ofMinor(String category, long limitMinor) {
+        return new Budget(limitMinor, category);
     }
 
     public void addSpending(double amount) {
-        if (amount < 0) {
+        addSpendingMinor(Money.ofMajor(amount));
+    }
+
+    public void addSpendingMinor(long amountMinor) {
+        if (amountMinor < 0) {
             throw new IllegalArgumentException("Сумма расхода не может быть отрицательной");
         }
-        this.spent += amount;
+        this.spentMinor += amountMinor;
     }
 
     public void updateLimit(double newLimit) {
-        if (newLimit < 0) {
+        long newLimitMinor = Money.ofMajor(newLimit);
+        if (newLimitMinor < 0) {
             throw new IllegalArgumentException("Лимит бюджета не может быть отрицательным");
         }
-        this.limit = newLimit;
+        this.limitMinor = newLimitMinor;
     }
 
     public void resetSpent() {
-        this.spent = 0.0;
+        this.spentMinor = 0;
     }
 
     public String getCategory() { return category; }
-    public double getLimit() { return limit; }
-    public double getSpent() { return spent; }
-    public double getRemaining() { return limit - spent; }
+    public double getLimit() { return Money.toMajor(limitMinor); }
+    public double getSpent() { return Money.toMajor(spentMinor); }
+    public double getRemaining() { return Money.toMajor(limitMinor - spentMinor); }
+    public long getLimitMinor() { return limitMinor; }
+    public long getSpentMinor() { return spentMinor; }
     public double getUsagePercentage() {
-        return limit > 0 ? (spent / limit) * 100 : 0;
+        return limitMinor > 0 ? (spentMinor * 100.0) / limitMinor : 0;
     }
-    public boolean isExceeded() { return spent > limit; }
+    public boolean isExceeded() { return spentMinor > limitMinor; }
     public boolean isNearLimit() { return getUsagePercentage() >= MAX_PERCENTAGE; }
 
     @Override
@@ -68,6 +83,6 @@ public class Budget implements Serializable {
     @Override
     public String toString() {
         return String.format("Budget{category='%s', limit=%.2f, spent=%.2f}",
-                category, limit, spent);
+                category, getLimit(), getSpent());
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package financemanager.core.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+public final class CategoryDictionary implements Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final int UNKNOWN = -1;
+
+    private final List<String> names;
+    private final Map<String, Integer> ids;
+
+    public CategoryDictionary() {
+        this.names = new ArrayList<>();
+        this.ids = new HashMap<>();
+    }
+
+    public int intern(String category) {
+        Integer id = ids.get(category);
+        if (id != null) {
+            return id;
+        }
+        ids.put(category, names.size());
+        names.add(category);
+        return names.size() - 1;
+    }
+
+    public int find(String category) {
+        return ids.getOrDefault(category, UNKNOWN);
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,48 @@
+package financemanager.core.model;
+
+public final class CategoryTotals {
+    private final long[] incomeByCategory;
+    private final long[] expenseByCategory;
+    private final int[] rowsByCategory;
+    private long totalIncome;
+    private long totalExpense;
+
+    CategoryTotals(int categoryCount) {
+        this.incomeByCategory = new long[categoryCount];
+        this.expenseByCategory = new long[categoryCount];
+        this.rowsByCategory = new int[categoryCount];
+    }
+
+    void add(int categoryId, boolean expense, long amount) {
+        rowsByCategory[categoryId]++;
+        if (expense) {
+            totalExpense += amount;
+            expenseByCategory[categoryId] += amount;
+        } else {
+            totalIncome += amount;
+            incomeByCategory[categoryId] += amount;
+        }
+    }
+
+    CategoryTotals merge(CategoryTotals other) {
+        for (int categoryId = 0; categoryId < rowsByCategory.length; categoryId++) {
+            incomeByCategory[categoryId] += other.incomeByCategory[categoryId];
+            expenseByCategory[categoryId] += other.expenseByCategory[categoryId];
+            rowsByCategory[categoryId] += other.rowsByCategory[categoryId];
+        }
+        totalIncome += other.totalIncome;
+        totalExpense += other.totalExpense;
+        return this;
+    }
+
+    long[] incomeByCategory() { return incomeByCategory; }
+    long[] expenseByCategory() { return expenseByCategory; }
+    int[] rowsByCategory() { return rowsByCategory; }
+
+    public int getCategoryCount() { return rowsByCategory.length; }
+    public long getTotalIncome() { return totalIncome; }
+    public long getTotalExpense() { return totalExpense; }
+    public long getIncome(int categoryId) { return incomeByCategory[categoryId]; }
+    public long getExpense(int categoryId) { return expenseByCategory[categoryId]; }
+    public int getRows(int categoryId) { return rowsByCategory[categoryId]; }
+}
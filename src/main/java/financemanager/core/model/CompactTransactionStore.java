@@ -0,0 +1,238 @@
+package financemanager.core.model;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+public class CompactTransactionStore implements TransactionStore, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte FLAG_EXPENSE = 1;
+    private static final byte FLAG_TEXT_ID = 2;
+    private static final byte FLAG_NO_ID = 4;
+
+    private final CategoryDictionary dictionary;
+    private final NavigableMap<Integer, IntList> rowsByDate;
+    private final List<IntList> rowsByCategory;
+    private int[] days;
+    private byte[] flags;
+    private int[] categoryIds;
+    private long[] amounts;
+    private long[] idMostBits;
+    private long[] idLeastBits;
+    private int[] descriptionEnds;
+    private final List<String> textIds;
+    private byte[] textPool;
+    private int textSize;
+    private int size;
+
+    public CompactTransactionStore() {
+        this.dictionary = new CategoryDictionary();
+        this.rowsByDate = new TreeMap<>();
+        this.rowsByCategory = new ArrayList<>();
+        this.days = new int[INITIAL_CAPACITY];
+        this.flags = new byte[INITIAL_CAPACITY];
+        this.categoryIds = new int[INITIAL_CAPACITY];
+        this.amounts = new long[INITIAL_CAPACITY];
+        this.idMostBits = new long[INITIAL_CAPACITY];
+        this.idLeastBits = new long[INITIAL_CAPACITY];
+        this.descriptionEnds = new int[INITIAL_CAPACITY];
+        this.textIds = new ArrayList<>();
+        this.textPool = new byte[INITIAL_CAPACITY * INITIAL_CAPACITY];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(Transaction transaction) {
+        ensureCapacity(size + 1);
+        int row = size;
+
+        byte rowFlags = transaction.isExpense() ? FLAG_EXPENSE : 0;
+        String id = transaction.getId();
+        UUID uuid = id != null ? parseUuid(id) : null;
+        if (id == null) {
+            rowFlags |= FLAG_NO_ID;
+        } else if (uuid != null) {
+            idMostBits[row] = uuid.getMostSignificantBits();
+            idLeastBits[row] = uuid.getLeastSignificantBits();
+        } else {
+            rowFlags |= FLAG_TEXT_ID;
+            idMostBits[row] = textIds.size();
+            textIds.add(id);
+        }
+        descriptionEnds[row] = appendText(transaction.getDescription().getBytes(StandardCharsets.UTF_8));
+
+        int day = transaction.getDate() != null ? (int) transaction.getDate().toEpochDay() : NO_DATE;
+        days[row] = day;
+        flags[row] = rowFlags;
+        int categoryId = dictionary.intern(transaction.getCategory());
+        categoryIds[row] = categoryId;
+        amounts[row] = transaction.getAmountMinor();
+        if (categoryId == rowsByCategory.size()) {
+            rowsByCategory.add(new IntList());
+        }
+        rowsByCategory.get(categoryId).add(row);
+        if (day != NO_DATE) {
+            rowsByDate.computeIfAbsent(day, d -> new IntList()).add(row);
+        }
+        size = row + 1;
+    }
+
+    @Override
+    public void addAll(List<Transaction> batch) {
+        ensureCapacity(size + batch.size());
+        for (Transaction transaction : batch) {
+            add(transaction);
+        }
+    }
+
+    @Override
+    public Transaction get(int row) {
+        Objects.checkIndex(row, size);
+        LocalDate date = days[row] != NO_DATE ? LocalDate.ofEpochDay(days[row]) : null;
+        return Transaction.ofMinor(id(row), dictionary.name(categoryIds[row]), amounts[row],
+                isExpense(row) ? Transaction.Type.EXPENSE : Transaction.Type.INCOME, date,
+                description(row));
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        textSize = 0;
+        textIds.clear();
+        rowsByDate.clear();
+        rowsByCategory.replaceAll(rows -> new IntList());
+    }
+
+    @Override
+    public String id(int row) {
+        Objects.checkIndex(row, size);
+        if ((flags[row] & FLAG_NO_ID) != 0) {
+            return null;
+        }
+        if ((flags[row] & FLAG_TEXT_ID) != 0) {
+            return textIds.get((int) idMostBits[row]);
+        }
+        return new UUID(idMostBits[row], idLeastBits[row]).toString();
+    }
+
+    @Override
+    public long epochDay(int row) {
+        Objects.checkIndex(row, size);
+        return days[row] != NO_DATE ? days[row] : Long.MIN_VALUE;
+    }
+
+    @Override
+    public boolean isExpense(int row) {
+        Objects.checkIndex(row, size);
+        return (flags[row] & FLAG_EXPENSE) != 0;
+    }
+
+    @Override
+    public CategoryDictionary categoryDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public int categoryId(int row) {
+        Objects.checkIndex(row, size);
+        return categoryIds[row];
+    }
+
+    @Override
+    public long amountMinor(int row) {
+        Objects.checkIndex(row, size);
+        return amounts[row];
+    }
+
+    @Override
+    public void forEachInPeriod(long startDay, long endDay, RowVisitor visitor) {
+        int from = (int) Math.max(startDay, Integer.MIN_VALUE + 1L);
+        int to = (int) Math.min(endDay, Integer.MAX_VALUE);
+        if (from > to) {
+            return;
+        }
+        for (IntList rows : rowsByDate.subMap(from, true, to, true).values()) {
+            for (int i = 0; i < rows.size(); i++) {
+                visitor.visit(rows.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void forEachInCategory(String category, int fromRow, int toRow, RowVisitor visitor) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return;
+        }
+        IntList rows = rowsByCategory.get(categoryId);
+        for (int i = rows.lowerBound(fromRow); i < rows.size() && rows.get(i) < toRow; i++) {
+            visitor.visit(rows.get(i));
+        }
+    }
+
+    @Override
+    public List<Transaction> getByCategory(String category) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return Collections.emptyList();
+        }
+        IntList rows = rowsByCategory.get(categoryId);
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                return CompactTransactionStore.this.get(rows.get(index));
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= days.length) {
+            return;
+        }
+        int capacity = Math.max(rows, days.length * 2);
+        days = Arrays.copyOf(days, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        idMostBits = Arrays.copyOf(idMostBits, capacity);
+        idLeastBits = Arrays.copyOf(idLeastBits, capacity);
+        descriptionEnds = Arrays.copyOf(descriptionEnds, capacity);
+    }
+
+    private int appendText(byte[] bytes) {
+        int required = textSize + bytes.length;
+        if (required > textPool.length) {
+            textPool = Arrays.copyOf(textPool, Math.max(required, textPool.length + (textPool.length >> 1)));
+        }
+        System.arraycopy(bytes, 0, textPool, textSize, bytes.length);
+        textSize = required;
+        return textSize;
+    }
+
+    private String description(int row) {
+        int start = row > 0 ? descriptionEnds[row - 1] : 0;
+        int length = descriptionEnds[row] - start;
+        return length == 0 ? "" : new String(textPool, start, length, StandardCharsets.UTF_8);
+    }
+
+    private UUID parseUuid(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package financemanager.core.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+class IntList implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this.values = new int[INITIAL_CAPACITY];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int lowerBound(int value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    void sort() {
+        Arrays.sort(values, 0, size);
+    }
+}
@@ -0,0 +1,84 @@
+package financemanager.core.model;
+
+public final class Money {
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_UNIT = 100;
+    public static final int MAX_LENGTH = 24;
+    private static final double MAX_MAJOR = Long.MAX_VALUE / (double) MINOR_PER_UNIT;
+
+    private Money() {}
+
+    public static long ofMajor(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_MAJOR) {
+            throw new IllegalArgumentException("Сумма вне допустимого диапазона: " + amount);
+        }
+        return Math.round(amount * MINOR_PER_UNIT);
+    }
+
+    public static double toMajor(long minor) {
+        return minor / (double) MINOR_PER_UNIT;
+    }
+
+    public static long parse(String text) {
+        String value = text.trim();
+        int length = value.length();
+        int position = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            position++;
+        }
+
+        long whole = 0;
+        int digits = 0;
+        for (; position < length && Character.isDigit(value.charAt(position)); position++, digits++) {
+            whole = Math.addExact(Math.multiplyExact(whole, 10), value.charAt(position) - '0');
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (position < length && value.charAt(position) == '.') {
+            for (position++; position < length && fractionDigits < SCALE
+                    && Character.isDigit(value.charAt(position)); position++, fractionDigits++) {
+                fraction = fraction * 10 + value.charAt(position) - '0';
+            }
+        }
+        if (position != length || digits + fractionDigits == 0) {
+            // Экспоненты, лишние знаки дробной части и прочие редкие формы идут через округление.
+            return ofMajor(Double.parseDouble(value));
+        }
+
+        for (; fractionDigits < SCALE; fractionDigits++) {
+            fraction *= 10;
+        }
+        long minor = Math.addExact(Math.multiplyExact(whole, MINOR_PER_UNIT), fraction);
+        return negative ? -minor : minor;
+    }
+
+    public static int format(long minor, char[] out) {
+        long whole = Math.abs(minor / MINOR_PER_UNIT);
+        int fraction = (int) Math.abs(minor % MINOR_PER_UNIT);
+        int position = out.length;
+
+        if (fraction != 0) {
+            if (fraction % 10 != 0) {
+                out[--position] = (char) ('0' + fraction % 10);
+            }
+            out[--position] = (char) ('0' + fraction / 10);
+            out[--position] = '.';
+        }
+        do {
+            out[--position] = (char) ('0' + whole % 10);
+            whole /= 10;
+        } while (whole > 0);
+        if (minor < 0) {
+            out[--position] = '-';
+        }
+        return position;
+    }
+
+    public static String toString(long minor) {
+        char[] buffer = new char[MAX_LENGTH];
+        int start = format(minor, buffer);
+        return new String(buffer, start, buffer.length - start);
+    }
+}
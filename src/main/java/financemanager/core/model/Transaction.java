@@ -10,7 +10,7 @@ public class Transaction implements Serializable {
 
     private final String id;
     private final String category;
-    private final double amount;
+    private final long amountMinor;
     private final Type type;
     private final String description;
     private final LocalDate date;
@@ -41,16 +41,21 @@ public class Transaction implements Serializable {
 
     public Transaction(String id, String category, double amount, Type type,
                        LocalDate date, String description) {
+        this(Money.ofMajor(amount), id, category, type, date, description);
+    }
+
+    private Transaction(long amountMinor, String id, String category, Type type,
+                        LocalDate date, String description) {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Категория не может быть пустой");
         }
-        if (amount <= 0) {
+        if (amountMinor <= 0) {
             throw new IllegalArgumentException("Сумма должна быть положительной");
         }
 
         this.id = id;
         this.category = category.trim();
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.type = type;
         this.date = date;
         this.description = description != null ? description.trim() : "";
@@ -64,8 +69,17 @@ public class Transaction implements Serializable {
         return category;
     }
 
+    public static Transaction ofMinor(String id, String category, long amountMinor, Type type,
+                                      LocalDate date, String description) {
+        return new Transaction(amountMinor, id, category, type, date, description);
+    }
+
     public double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor);
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
     }
 
     public Type getType() {
@@ -92,7 +106,7 @@ public class Transaction implements Serializable {
     @Override
     public String toString() {
         return String.format("%s: %s - %.2f (%s)",
-                date, category, amount, type.getDisplayName());
+                date, category, getAmount(), type.getDisplayName());
     }
 
     @Override
@@ -0,0 +1,83 @@
+package financemanager.core.model;
+
+import java.time.LocalDate;
+import java.util.*;
+
+public final class TransactionFilter {
+    public static final TransactionFilter ALL = new TransactionFilter(null, null, null, null, 0, Integer.MAX_VALUE);
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Set<String> categories;
+    private final Transaction.Type type;
+    private final int fromRow;
+    private final int toRow;
+
+    private TransactionFilter(LocalDate from, LocalDate to, Set<String> categories,
+                              Transaction.Type type, int fromRow, int toRow) {
+        this.from = from;
+        this.to = to;
+        this.categories = categories;
+        this.type = type;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+    }
+
+    public TransactionFilter withPeriod(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Начальная дата не может быть позже конечной");
+        }
+        return new TransactionFilter(from, to, categories, type, fromRow, toRow);
+    }
+
+    public TransactionFilter withCategories(Set<String> categories) {
+        Set<String> copy = categories != null ? Set.copyOf(categories) : null;
+        return new TransactionFilter(from, to, copy, type, fromRow, toRow);
+    }
+
+    public TransactionFilter withType(Transaction.Type type) {
+        return new TransactionFilter(from, to, categories, type, fromRow, toRow);
+    }
+
+    public TransactionFilter withRows(int fromRow, int toRow) {
+        return new TransactionFilter(from, to, categories, type, fromRow, toRow);
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Set<String> getCategories() { return categories; }
+    public Transaction.Type getType() { return type; }
+    public int getFromRow() { return fromRow; }
+    public int getToRow() { return toRow; }
+
+    public String signature() {
+        if (!hasPeriod() && categories == null && type == null) {
+            return "";
+        }
+        List<String> sortedCategories = categories != null ? new ArrayList<>(categories) : new ArrayList<>();
+        Collections.sort(sortedCategories);
+        return from + ".." + to + "|" + String.join(",", sortedCategories) + "|" + (type != null ? type.name() : "");
+    }
+
+    boolean hasPeriod() {
+        return from != null || to != null;
+    }
+
+    long startDay() {
+        return from != null ? from.toEpochDay() : Long.MIN_VALUE + 1;
+    }
+
+    long endDay() {
+        return to != null ? to.toEpochDay() : Long.MAX_VALUE;
+    }
+
+    boolean matches(TransactionStore store, int row) {
+        if (row < fromRow || row >= toRow) {
+            return false;
+        }
+        if (type != null && store.isExpense(row) != (type == Transaction.Type.EXPENSE)) {
+            return false;
+        }
+        return categories == null || categories.contains(store.category(row));
+    }
+}
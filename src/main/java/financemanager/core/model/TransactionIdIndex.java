@@ -0,0 +1,99 @@
+package financemanager.core.model;
+
+import java.util.*;
+
+final class TransactionIdIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private boolean[] used;
+    private int uuidCount;
+    private final Set<String> textIds;
+
+    TransactionIdIndex() {
+        allocate(INITIAL_CAPACITY);
+        this.textIds = new HashSet<>();
+    }
+
+    boolean add(String id) {
+        if (id == null) {
+            return true;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid == null) {
+            return textIds.add(id);
+        }
+        if ((uuidCount + 1) * 2 > used.length) {
+            grow();
+        }
+        return insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    boolean contains(String id) {
+        if (id == null) {
+            return false;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid == null) {
+            return textIds.contains(id);
+        }
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        for (int slot = slot(most, least); used[slot]; slot = (slot + 1) & (used.length - 1)) {
+            if (mostBits[slot] == most && leastBits[slot] == least) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean insert(long most, long least) {
+        int slot = slot(most, least);
+        while (used[slot]) {
+            if (mostBits[slot] == most && leastBits[slot] == least) {
+                return false;
+            }
+            slot = (slot + 1) & (used.length - 1);
+        }
+        used[slot] = true;
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        uuidCount++;
+        return true;
+    }
+
+    private void grow() {
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length * 2);
+        uuidCount = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                insert(oldMost[i], oldLeast[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    private int slot(long most, long least) {
+        long hash = (most ^ Long.rotateLeft(least, Integer.SIZE)) * HASH_MULTIPLIER;
+        return (int) (hash >>> Integer.SIZE) & (used.length - 1);
+    }
+
+    private UUID parseUuid(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package financemanager.core.model;
+
+import java.util.List;
+
+public interface TransactionStore {
+    int size();
+
+    void add(Transaction transaction);
+
+    default void addAll(List<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            add(transaction);
+        }
+    }
+
+    Transaction get(int row);
+
+    void clear();
+
+    default String id(int row) {
+        return get(row).getId();
+    }
+
+    long epochDay(int row);
+
+    boolean isExpense(int row);
+
+    CategoryDictionary categoryDictionary();
+
+    int categoryId(int row);
+
+    default String category(int row) {
+        return categoryDictionary().name(categoryId(row));
+    }
+
+    long amountMinor(int row);
+
+    void forEachInPeriod(long startDay, long endDay, RowVisitor visitor);
+
+    List<Transaction> getByCategory(String category);
+
+    void forEachInCategory(String category, int fromRow, int toRow, RowVisitor visitor);
+
+    default void flush() {}
+
+    default void close() {}
+
+    @FunctionalInterface
+    interface RowVisitor {
+        void visit(int row);
+    }
+}
@@ -2,15 +2,21 @@ package financemanager.core.model;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class User implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final String login;
     private final String passwordHash;
-    private final Wallet wallet;
+    private Wallet wallet;
+    private transient Function<String, Wallet> walletLoader;
 
     public User(String login, String password) {
+        this(login, password, owner -> new CompactTransactionStore());
+    }
+
+    public User(String login, String password, Function<String, TransactionStore> storeFactory) {
         if (login == null || login.trim().isEmpty()) {
             throw new IllegalArgumentException("Логин не может быть пустым");
         }
@@ -20,7 +26,22 @@ public class User implements Serializable {
 
         this.login = login.trim().toLowerCase();
         this.passwordHash = hashPassword(password);
-        this.wallet = new Wallet(this.login);
+        this.wallet = new Wallet(this.login, storeFactory.apply(this.login));
+    }
+
+    private User(String login, String passwordHash, Wallet wallet, Function<String, Wallet> walletLoader) {
+        this.login = login;
+        this.passwordHash = passwordHash;
+        this.wallet = wallet;
+        this.walletLoader = walletLoader;
+    }
+
+    public static User restore(String login, String passwordHash, Wallet wallet) {
+        return new User(login, passwordHash, wallet, null);
+    }
+
+    public static User withLazyWallet(String login, String passwordHash, Function<String, Wallet> walletLoader) {
+        return new User(login, passwordHash, null, walletLoader);
     }
 
     private String hashPassword(String password) {
@@ -34,7 +55,15 @@ public class User implements Serializable {
 
     public String getLogin() { return login; }
     public String getPasswordHash() { return passwordHash; }
-    public Wallet getWallet() { return wallet; }
+    public synchronized Wallet getWallet() {
+        if (wallet == null) {
+            wallet = walletLoader.apply(login);
+            walletLoader = null;
+        }
+        return wallet;
+    }
+
+    public synchronized boolean isWalletLoaded() { return wallet != null; }
 
     @Override
     public boolean equals(Object o) {
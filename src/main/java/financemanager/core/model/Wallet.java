@@ -3,52 +3,137 @@ package financemanager.core.model;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Wallet implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CATEGORY_CAPACITY = 16;
 
     private final String userId;
-    private double balance;
-    private final List<Transaction> transactions;
+    private long balance;
+    private final TransactionStore transactions;
     private final Map<String, Budget> budgets;
     private final Set<String> categories;
+    private long totalIncome;
+    private long totalExpense;
+    private final CategoryDictionary dictionary;
+    private long[] incomeByCategory;
+    private long[] expenseByCategory;
+    private int[] rowsByCategory;
+    private transient TransactionIdIndex idIndex;
 
     public Wallet(String userId) {
+        this(userId, new CompactTransactionStore());
+    }
+
+    public Wallet(String userId, TransactionStore transactions) {
         this.userId = userId;
-        this.balance = 0.0;
-        this.transactions = new ArrayList<>();
-        this.budgets = new HashMap<>();
-        this.categories = new HashSet<>();
+        this.balance = 0;
+        this.transactions = transactions;
+        this.budgets = new ConcurrentHashMap<>();
+        this.categories = ConcurrentHashMap.newKeySet();
+        this.dictionary = transactions.categoryDictionary();
+        this.incomeByCategory = new long[INITIAL_CATEGORY_CAPACITY];
+        this.expenseByCategory = new long[INITIAL_CATEGORY_CAPACITY];
+        this.rowsByCategory = new int[INITIAL_CATEGORY_CAPACITY];
+    }
+
+    public static Wallet restore(String userId, TransactionStore store, Collection<Budget> budgets,
+                                 Collection<String> categories, List<Transaction> transactions) {
+        Wallet wallet = new Wallet(userId, store);
+        wallet.categories.addAll(categories);
+        if (store.size() == 0) {
+            wallet.applyBatch(transactions);
+        } else {
+            store.addAll(transactions);
+            wallet.rebuildIndexes();
+        }
+        wallet.restoreBudgets(budgets);
+        return wallet;
     }
 
-    public void addTransaction(Transaction transaction) {
+    public synchronized void restoreBudgets(Collection<Budget> restoredBudgets) {
+        for (Budget budget : restoredBudgets) {
+            budget.resetSpent();
+            budget.addSpendingMinor(getExpenseByCategoryMinor(budget.getCategory()));
+            budgets.put(budget.getCategory(), budget);
+        }
+    }
+
+    public synchronized void addTransaction(Transaction transaction) {
         transactions.add(transaction);
+        if (idIndex != null) {
+            idIndex.add(transaction.getId());
+        }
 
+        long amount = transaction.getAmountMinor();
         if (transaction.isIncome()) {
-            balance += transaction.getAmount();
+            balance += amount;
         } else {
-            balance -= transaction.getAmount();
+            balance -= amount;
             Budget budget = budgets.get(transaction.getCategory());
             if (budget != null) {
-                budget.addSpending(transaction.getAmount());
+                budget.addSpendingMinor(amount);
             }
         }
 
         categories.add(transaction.getCategory());
+        accumulate(transactions.categoryId(transactions.size() - 1), transaction.isExpense(), amount);
+    }
+
+    public synchronized void rebuildIndexes() {
+        idIndex = null;
+        CategoryTotals totals = AggregationEngine.shared().aggregate(transactions);
+        totalIncome = totals.getTotalIncome();
+        totalExpense = totals.getTotalExpense();
+        incomeByCategory = totals.incomeByCategory();
+        expenseByCategory = totals.expenseByCategory();
+        rowsByCategory = totals.rowsByCategory();
+        for (int categoryId = 0; categoryId < rowsByCategory.length; categoryId++) {
+            if (rowsByCategory[categoryId] > 0) {
+                categories.add(dictionary.name(categoryId));
+            }
+        }
+        balance = totalIncome - totalExpense;
+        budgets.forEach((category, budget) -> {
+            budget.resetSpent();
+            budget.addSpendingMinor(getExpenseByCategoryMinor(category));
+        });
+    }
+
+    private void accumulate(int categoryId, boolean expense, long amount) {
+        if (categoryId >= rowsByCategory.length) {
+            int capacity = Math.max(dictionary.size(), rowsByCategory.length * 2);
+            incomeByCategory = Arrays.copyOf(incomeByCategory, capacity);
+            expenseByCategory = Arrays.copyOf(expenseByCategory, capacity);
+            rowsByCategory = Arrays.copyOf(rowsByCategory, capacity);
+        }
+        rowsByCategory[categoryId]++;
+        if (expense) {
+            totalExpense += amount;
+            expenseByCategory[categoryId] += amount;
+        } else {
+            totalIncome += amount;
+            incomeByCategory[categoryId] += amount;
+        }
     }
 
-    public void setBudget(String category, double limit) {
+    private long categoryTotal(String category, long[] totals) {
+        int categoryId = dictionary.find(category);
+        return categoryId != CategoryDictionary.UNKNOWN && categoryId < totals.length ? totals[categoryId] : 0;
+    }
+
+    public synchronized void setBudget(String category, double limit) {
         if (budgets.get(category) != null) {
             throw new IllegalArgumentException("Бюджет для категории '" + category + "' уже существует");
         }
         Budget budget = new Budget(category, limit);
-        budget.addSpending(getTransactionsByCategory(category).stream().mapToDouble(Transaction::getAmount).sum());
+        budget.addSpendingMinor(getExpenseByCategoryMinor(category));
         budgets.put(category, budget);
         categories.add(category);
     }
 
-    public void updateBudget(String category, double newLimit) {
+    public synchronized void updateBudget(String category, double newLimit) {
         Budget budget = budgets.get(category);
         if (budget == null) {
             throw new IllegalArgumentException("Бюджет для категории '" + category + "' не найден");
@@ -56,15 +141,15 @@ public class Wallet implements Serializable {
         budget.updateLimit(newLimit);
     }
 
-    public void removeBudget(String category) {
+    public synchronized void removeBudget(String category) {
         budgets.remove(category);
     }
 
-    public void addCategory(String category) {
+    public synchronized void addCategory(String category) {
         categories.add(category);
     }
 
-    public void removeCategory(String category) {
+    public synchronized void removeCategory(String category) {
         if (hasTransactionsInCategory(category)) {
             throw new IllegalStateException("Нельзя удалить категорию, так как в ней есть транзакции");
         }
@@ -72,80 +157,229 @@ public class Wallet implements Serializable {
         budgets.remove(category);
     }
 
-    public void clearTransactions() {
+    public synchronized void clearTransactions() {
         this.transactions.clear();
-        this.balance = 0.0;
-        budgets.forEach((key, value) -> value.resetSpent());
+        rebuildIndexes();
+    }
+
+    public synchronized boolean hasTransactionsInCategory(String category) {
+        int categoryId = dictionary.find(category);
+        return categoryId != CategoryDictionary.UNKNOWN && categoryId < rowsByCategory.length
+                && rowsByCategory[categoryId] > 0;
+    }
+
+    public synchronized double getTotalIncome() {
+        return Money.toMajor(totalIncome);
     }
 
-    public boolean hasTransactionsInCategory(String category) {
-        return transactions.stream()
-                .anyMatch(t -> t.getCategory().equals(category));
+    public synchronized double getTotalExpense() {
+        return Money.toMajor(totalExpense);
     }
 
-    public double getTotalIncome() {
-        return transactions.stream()
-                .filter(Transaction::isIncome)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    public synchronized long getTotalIncomeMinor() {
+        return totalIncome;
     }
 
-    public double getTotalExpense() {
-        return transactions.stream()
-                .filter(Transaction::isExpense)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    public synchronized long getTotalExpenseMinor() {
+        return totalExpense;
     }
 
-    public double getIncomeByCategory(String category) {
-        return transactions.stream()
-                .filter(t -> t.isIncome() && t.getCategory().equals(category))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    public synchronized double getIncomeByCategory(String category) {
+        return Money.toMajor(getIncomeByCategoryMinor(category));
     }
 
-    public double getExpenseByCategory(String category) {
-        return transactions.stream()
-                .filter(t -> t.isExpense() && t.getCategory().equals(category))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    public synchronized double getExpenseByCategory(String category) {
+        return Money.toMajor(getExpenseByCategoryMinor(category));
     }
 
-    public Map<String, Double> getExpensesByCategories(Set<String> selectedCategories) {
-        return transactions.stream()
-                .filter(t -> t.isExpense() && selectedCategories.contains(t.getCategory()))
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    public synchronized long getIncomeByCategoryMinor(String category) {
+        return categoryTotal(category, incomeByCategory);
     }
 
-    public Map<String, Double> getExpensesByPeriod(LocalDate start, LocalDate end) {
-        return transactions.stream()
-                .filter(t -> t.isExpense() &&
-                        !t.getDate().isBefore(start) &&
-                        !t.getDate().isAfter(end))
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    public synchronized long getExpenseByCategoryMinor(String category) {
+        return categoryTotal(category, expenseByCategory);
     }
 
-    public List<Transaction> getTransactionsByCategory(String category) {
-        return transactions.stream()
-                .filter(t -> t.getCategory().equals(category))
-                .collect(Collectors.toList());
+    public synchronized Map<String, Double> getExpensesByCategories(Set<String> selectedCategories) {
+        Map<String, Double> result = new HashMap<>();
+        for (String category : selectedCategories) {
+            long expense = categoryTotal(category, expenseByCategory);
+            if (expense > 0) {
+                result.put(category, Money.toMajor(expense));
+            }
+        }
+        return result;
+    }
+
+    public synchronized Map<String, Double> getExpensesByPeriod(LocalDate start, LocalDate end) {
+        CategoryTotals totals = AggregationEngine.shared()
+                .aggregatePeriod(transactions, start.toEpochDay(), end.toEpochDay());
+        Map<String, Double> result = new HashMap<>();
+        for (int categoryId = 0; categoryId < totals.getCategoryCount(); categoryId++) {
+            if (totals.getExpense(categoryId) > 0) {
+                result.put(dictionary.name(categoryId), Money.toMajor(totals.getExpense(categoryId)));
+            }
+        }
+        return result;
+    }
+
+    public synchronized List<Transaction> getTransactionsByPeriod(LocalDate start, LocalDate end) {
+        List<Transaction> result = new ArrayList<>();
+        transactions.forEachInPeriod(start.toEpochDay(), end.toEpochDay(), row -> result.add(transactions.get(row)));
+        return result;
+    }
+
+    public synchronized List<Transaction> selectTransactions(TransactionFilter filter) {
+        return new ArrayList<>(selectTransactionView(filter));
+    }
+
+    public synchronized List<Transaction> selectTransactionView(TransactionFilter filter) {
+        IntList rows = selectRows(filter);
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                synchronized (Wallet.this) {
+                    return transactions.get(rows.get(index));
+                }
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
+    }
+
+    private IntList selectRows(TransactionFilter filter) {
+        IntList rows = new IntList();
+        if (filter.hasPeriod()) {
+            transactions.forEachInPeriod(filter.startDay(), filter.endDay(), row -> {
+                if (filter.matches(transactions, row)) {
+                    rows.add(row);
+                }
+            });
+            return rows;
+        }
+
+        int start = Math.max(filter.getFromRow(), 0);
+        int end = Math.min(filter.getToRow(), transactions.size());
+        if (filter.getCategories() != null) {
+            for (String category : filter.getCategories()) {
+                transactions.forEachInCategory(category, start, end, row -> {
+                    if (filter.matches(transactions, row)) {
+                        rows.add(row);
+                    }
+                });
+            }
+            if (filter.getCategories().size() > 1) {
+                rows.sort();
+            }
+            return rows;
+        }
+
+        for (int row = start; row < end; row++) {
+            if (filter.matches(transactions, row)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    public synchronized List<Transaction> getTransactionsByCategory(String category) {
+        return transactions.getByCategory(category);
     }
 
     public String getUserId() { return userId; }
-    public double getBalance() { return balance; }
-    public List<Transaction> getTransactions() { return Collections.unmodifiableList(transactions); }
+    public synchronized double getBalance() { return Money.toMajor(balance); }
+    public synchronized long getBalanceMinor() { return balance; }
+    public List<Transaction> getTransactions() {
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                synchronized (Wallet.this) {
+                    return transactions.get(index);
+                }
+            }
+
+            @Override
+            public int size() {
+                synchronized (Wallet.this) {
+                    return transactions.size();
+                }
+            }
+        };
+    }
+    public TransactionStore getTransactionStore() { return transactions; }
     public Map<String, Budget> getBudgets() { return Collections.unmodifiableMap(budgets); }
     public Set<String> getCategories() { return Collections.unmodifiableSet(categories); }
 
-    public void importTransactions(List<Transaction> importedTransactions) {
+    public synchronized boolean containsTransaction(String id) {
+        return idIndex().contains(id);
+    }
+
+    public synchronized List<Transaction> importTransactions(List<Transaction> importedTransactions) {
+        TransactionIdIndex index = idIndex();
+        List<Transaction> fresh = new ArrayList<>(importedTransactions.size());
         for (Transaction transaction : importedTransactions) {
-            addTransaction(transaction);
+            if (index.add(transaction.getId())) {
+                fresh.add(transaction);
+            }
+        }
+        applyBatch(fresh);
+        return fresh;
+    }
+
+    public synchronized Set<String> addTransactions(List<Transaction> batch) {
+        if (idIndex != null) {
+            batch.forEach(transaction -> idIndex.add(transaction.getId()));
+        }
+        return applyBatch(batch);
+    }
+
+    private TransactionIdIndex idIndex() {
+        if (idIndex == null) {
+            TransactionIdIndex index = new TransactionIdIndex();
+            for (int row = 0; row < transactions.size(); row++) {
+                index.add(transactions.id(row));
+            }
+            idIndex = index;
+        }
+        return idIndex;
+    }
+
+    private Set<String> applyBatch(List<Transaction> batch) {
+        int firstRow = transactions.size();
+        transactions.addAll(batch);
+
+        long[] batchExpense = new long[dictionary.size()];
+        boolean[] touched = new boolean[dictionary.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Transaction transaction = batch.get(i);
+            int categoryId = transactions.categoryId(firstRow + i);
+            long amount = transaction.getAmountMinor();
+            accumulate(categoryId, transaction.isExpense(), amount);
+            touched[categoryId] = true;
+            if (transaction.isExpense()) {
+                balance -= amount;
+                batchExpense[categoryId] += amount;
+            } else {
+                balance += amount;
+            }
+        }
+
+        Set<String> touchedCategories = new HashSet<>();
+        for (int categoryId = 0; categoryId < touched.length; categoryId++) {
+            if (!touched[categoryId]) {
+                continue;
+            }
+            String category = dictionary.name(categoryId);
+            touchedCategories.add(category);
+            categories.add(category);
+            Budget budget = budgets.get(category);
+            if (budget != null && batchExpense[categoryId] > 0) {
+                budget.addSpendingMinor(batchExpense[categoryId]);
+            }
         }
+        return touchedCategories;
     }
 }
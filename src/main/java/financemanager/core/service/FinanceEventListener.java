@@ -0,0 +1,36 @@
+package financemanager.core.service;
+
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface FinanceEventListener {
+    FinanceEventListener NONE = new FinanceEventListener() {};
+
+    default void onUserRegistered(User user) {}
+
+    default void onTransactionAdded(String login, Transaction transaction) {}
+
+    default void onTransactionsImported(String login, List<Transaction> transactions) {}
+
+    default void onTransactionsCleared(String login) {}
+
+    default void onBudgetSet(String login, String category, double limit) {}
+
+    default void onBudgetUpdated(String login, String category, double newLimit) {}
+
+    default void onBudgetRemoved(String login, String category) {}
+
+    default void onCategoryAdded(String login, String category) {}
+
+    default void onCategoryRemoved(String login, String category) {}
+
+    default void onTransfer(String senderLogin, Transaction expense,
+                            String receiverLogin, Transaction income) {}
+
+    default boolean isSnapshotDue() { return false; }
+
+    default void onSnapshotDue(Map<String, User> users) {}
+}
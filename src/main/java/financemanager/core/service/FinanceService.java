@@ -3,211 +3,155 @@ package financemanager.core.service;
 import financemanager.core.model.*;
 import financemanager.core.exception.*;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class FinanceService {
     private final Map<String, User> users;
-    private User currentUser;
+    private final ReentrantReadWriteLock snapshotLock;
+    private volatile Session currentSession;
     private final NotificationService notificationService;
+    private final FinanceEventListener eventListener;
+    private final Function<String, TransactionStore> storeFactory;
 
     public FinanceService(NotificationService notificationService) {
-        this.users = new HashMap<>();
+        this(notificationService, FinanceEventListener.NONE);
+    }
+
+    public FinanceService(NotificationService notificationService, FinanceEventListener eventListener) {
+        this(notificationService, eventListener, login -> new CompactTransactionStore());
+    }
+
+    public FinanceService(NotificationService notificationService, FinanceEventListener eventListener,
+                          Function<String, TransactionStore> storeFactory) {
+        this.users = new ConcurrentHashMap<>();
+        this.snapshotLock = new ReentrantReadWriteLock();
         this.notificationService = notificationService;
+        this.eventListener = eventListener;
+        this.storeFactory = storeFactory;
     }
 
     public void initializeUsers(Map<String, User> loadedUsers) {
-        users.clear();
-        users.putAll(loadedUsers);
+        Lock lock = snapshotLock.writeLock();
+        lock.lock();
+        try {
+            users.clear();
+            users.putAll(loadedUsers);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void register(String login, String password) {
-        String normalizedLogin = login.trim().toLowerCase();
-        if (users.containsKey(normalizedLogin)) {
-            throw new ValidationException("Пользователь с логином '" + login + "' уже существует");
-        }
+        User user = new User(login, password, storeFactory);
+        mutate(() -> {
+            if (users.putIfAbsent(user.getLogin(), user) != null) {
+                throw new ValidationException("Пользователь с логином '" + login + "' уже существует");
+            }
+            eventListener.onUserRegistered(user);
+        });
+    }
 
-        User user = new User(login, password);
-        users.put(user.getLogin(), user);
+    public Session openSession(String login, String password) {
+        return openSession(login, password, new NotificationService());
     }
 
     public void login(String login, String password) {
-        User user = users.get(login.toLowerCase());
-        if (user == null) {
-            throw new UserNotFoundException("Пользователь с логином '" + login + "' не найден");
-        }
-
-        if (!user.verifyPassword(password)) {
-            throw new ValidationException("Неверный пароль");
-        }
-
-        currentUser = user;
-        notificationService.checkInitialNotifications(getWallet());
+        currentSession = openSession(login, password, notificationService);
     }
 
     public void logout() {
-        currentUser = null;
+        currentSession = null;
         notificationService.clearNotifications();
     }
 
-    public void addIncome(String category, double amount, String description, LocalDate date) {
-        checkUserLoggedIn();
+    public void snapshot(Consumer<Map<String, User>> writer) {
+        Lock lock = snapshotLock.writeLock();
+        lock.lock();
+        try {
+            writer.accept(getUsers());
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        Transaction transaction = new Transaction(
-                category, amount, Transaction.Type.INCOME, description
-        );
-        getWallet().addTransaction(transaction);
+    public void addIncome(String category, double amount, String description, LocalDate date) {
+        session().addIncome(category, amount, description, date);
     }
 
     public void addExpense(String category, double amount, String description, LocalDate date) {
-        checkUserLoggedIn();
-
-        Transaction transaction = new Transaction(
-                category, amount, Transaction.Type.EXPENSE, date, description
-        );
-        Wallet wallet = getWallet();
-        wallet.addTransaction(transaction);
-
-        notificationService.checkBudgetExceeded(wallet, category);
-        notificationService.checkBalanceStatus(wallet);
-        notificationService.checkBudgetThreshold(wallet, category);
+        session().addExpense(category, amount, description, date);
     }
 
     public void clearTransactions() {
-        checkUserLoggedIn();
-        getWallet().clearTransactions();
+        session().clearTransactions();
     }
 
     public void setBudget(String category, double limit) {
-        checkUserLoggedIn();
-        getWallet().setBudget(category, limit);
+        session().setBudget(category, limit);
     }
 
     public void updateBudget(String category, double newLimit) {
-        checkUserLoggedIn();
-        getWallet().updateBudget(category, newLimit);
+        session().updateBudget(category, newLimit);
     }
 
     public void removeBudget(String category) {
-        checkUserLoggedIn();
-        getWallet().removeBudget(category);
+        session().removeBudget(category);
     }
 
     public void addCategory(String category) {
-        checkUserLoggedIn();
-        getWallet().addCategory(category);
+        session().addCategory(category);
     }
 
     public void removeCategory(String category) {
-        checkUserLoggedIn();
-        getWallet().removeCategory(category);
+        session().removeCategory(category);
     }
 
     public void transfer(String toUserLogin, double amount, String description) {
-        checkUserLoggedIn();
-
-        User receiver = users.get(toUserLogin.toLowerCase());
-        if (receiver == null) {
-            throw new UserNotFoundException("Получатель с логином '" + toUserLogin + "' не найден");
-        }
-
-        if (amount <= 0) {
-            throw new ValidationException("Сумма перевода должна быть положительной");
-        }
-
-        Wallet senderWallet = getWallet();
-        if (senderWallet.getBalance() < amount) {
-            throw new InsufficientFundsException("Недостаточно средств для перевода");
-        }
-
-        String senderLogin = currentUser.getLogin();
-        String receiverLogin = receiver.getLogin();
-
-        addExpense("Перевод пользователю " + receiverLogin, amount,
-                description + " → " + receiverLogin, LocalDate.now());
-
-        User sender = currentUser;
-
-        currentUser = receiver;
-        addIncome("Перевод от пользователя " + senderLogin, amount,
-                description + " ← " + senderLogin, LocalDate.now());
-
-        currentUser = sender;
+        session().transfer(toUserLogin, amount, description);
     }
 
     public FinanceSummary getSummary() {
-        checkUserLoggedIn();
-        Wallet wallet = getWallet();
-
-        return new FinanceSummary(
-                wallet.getTotalIncome(),
-                wallet.getTotalExpense(),
-                wallet.getBalance(),
-                wallet.getTransactions().size()
-        );
+        return session().getSummary();
     }
 
     public Map<String, CategorySummary> getCategorySummaries() {
-        checkUserLoggedIn();
-        Wallet wallet = getWallet();
-        Map<String, CategorySummary> summaries = new HashMap<>();
-
-        for (String category : wallet.getCategories()) {
-            double income = wallet.getIncomeByCategory(category);
-            double expense = wallet.getExpenseByCategory(category);
-            Budget budget = wallet.getBudgets().get(category);
-
-            summaries.put(category, new CategorySummary(category, income, expense, budget));
-        }
-
-        return summaries;
+        return session().getCategorySummaries();
     }
 
     public Map<String, BudgetStatus> getBudgetStatuses() {
-        checkUserLoggedIn();
-        Map<String, BudgetStatus> statuses = new HashMap<>();
-        Wallet wallet = getWallet();
-
-        for (Budget budget : wallet.getBudgets().values()) {
-            double spent = wallet.getExpenseByCategory(budget.getCategory());
-            statuses.put(budget.getCategory(), new BudgetStatus(budget, spent));
-        }
+        return session().getBudgetStatuses();
+    }
 
-        return statuses;
+    public Dashboard getDashboard(int recentCount) {
+        return session().getDashboard(recentCount);
     }
 
     public Map<String, Double> getExpensesBySelectedCategories(Set<String> categories) {
-        checkUserLoggedIn();
-        Wallet wallet = getWallet();
-
-        Set<String> existingCategories = wallet.getCategories();
-        Set<String> nonExisting = categories.stream()
-                .filter(c -> !existingCategories.contains(c))
-                .collect(Collectors.toSet());
-
-        if (!nonExisting.isEmpty()) {
-            throw new CategoryNotFoundException("Категории не найдены: " + String.join(", ", nonExisting));
-        }
-
-        return wallet.getExpensesByCategories(categories);
+        return session().getExpensesBySelectedCategories(categories);
     }
 
     public Map<String, Double> getExpensesByPeriod(LocalDate startDate, LocalDate endDate) {
-        checkUserLoggedIn();
-        if (startDate.isAfter(endDate)) {
-            throw new ValidationException("Начальная дата не может быть позже конечной");
-        }
+        return session().getExpensesByPeriod(startDate, endDate);
+    }
+
+    public List<Transaction> getTransactionsByPeriod(LocalDate startDate, LocalDate endDate) {
+        return session().getTransactionsByPeriod(startDate, endDate);
+    }
 
-        return getWallet().getExpensesByPeriod(startDate, endDate);
+    public int importTransactions(List<Transaction> transactions) {
+        return session().importTransactions(transactions);
     }
 
-    public void importTransactions(List<Transaction> transactions) {
-        checkUserLoggedIn();
-        getWallet().importTransactions(transactions);
+    public void addTransactions(List<Transaction> transactions) {
+        session().addTransactions(transactions);
     }
 
     public static class FinanceSummary {
@@ -249,28 +193,89 @@ public class FinanceService {
         public final boolean exceeded;
         public final boolean nearLimit;
 
-        public BudgetStatus(Budget budget, double spent) {
+        public BudgetStatus(Budget budget, long spentMinor) {
+            long limitMinor = budget.getLimitMinor();
             this.category = budget.getCategory();
-            this.limit = budget.getLimit();
-            this.spent = spent;
-            this.remaining = limit - spent;
-            this.usagePercentage = limit > 0 ? (spent / limit) * 100 : 0;
-            this.exceeded = spent > limit;
+            this.limit = Money.toMajor(limitMinor);
+            this.spent = Money.toMajor(spentMinor);
+            this.remaining = Money.toMajor(limitMinor - spentMinor);
+            this.usagePercentage = limitMinor > 0 ? (spentMinor * 100.0) / limitMinor : 0;
+            this.exceeded = spentMinor > limitMinor;
             this.nearLimit = usagePercentage >= Budget.MAX_PERCENTAGE;
         }
     }
 
-    public User getCurrentUser() { return currentUser; }
-    public boolean isUserLoggedIn() { return currentUser != null; }
-    public Wallet getWallet() {
-        checkUserLoggedIn();
-        return currentUser.getWallet();
+    public static class Dashboard {
+        public final FinanceSummary summary;
+        public final Map<String, CategorySummary> categories;
+        public final Map<String, BudgetStatus> budgets;
+        public final List<Transaction> recentTransactions;
+
+        public Dashboard(FinanceSummary summary, Map<String, CategorySummary> categories,
+                         Map<String, BudgetStatus> budgets, List<Transaction> recentTransactions) {
+            this.summary = summary;
+            this.categories = Collections.unmodifiableMap(categories);
+            this.budgets = Collections.unmodifiableMap(budgets);
+            this.recentTransactions = Collections.unmodifiableList(recentTransactions);
+        }
+    }
+
+    public User getCurrentUser() {
+        Session session = currentSession;
+        return session != null ? session.getUser() : null;
     }
+    public Session getCurrentSession() { return currentSession; }
+    public boolean isUserLoggedIn() { return currentSession != null; }
+    public Wallet getWallet() { return session().getWallet(); }
     public Map<String, User> getUsers() { return Collections.unmodifiableMap(users); }
 
-    private void checkUserLoggedIn() {
-        if (!isUserLoggedIn()) {
+    User findUser(String login) {
+        return users.get(login.toLowerCase());
+    }
+
+    void mutate(Runnable mutation) {
+        Lock lock = snapshotLock.readLock();
+        lock.lock();
+        try {
+            mutation.run();
+        } finally {
+            lock.unlock();
+        }
+        compactIfDue();
+    }
+
+    private void compactIfDue() {
+        // Вложенное изменение ещё держит блокировку чтения и не может взять блокировку снимка.
+        if (snapshotLock.getReadHoldCount() > 0 || !eventListener.isSnapshotDue()) {
+            return;
+        }
+        snapshot(snapshotUsers -> {
+            if (eventListener.isSnapshotDue()) {
+                eventListener.onSnapshotDue(snapshotUsers);
+            }
+        });
+    }
+
+    private Session openSession(String login, String password, NotificationService notifications) {
+        User user = findUser(login);
+        if (user == null) {
+            throw new UserNotFoundException("Пользователь с логином '" + login + "' не найден");
+        }
+
+        if (!user.verifyPassword(password)) {
+            throw new ValidationException("Неверный пароль");
+        }
+
+        Session session = new Session(this, user, notifications, eventListener);
+        notifications.checkInitialNotifications(user.getWallet());
+        return session;
+    }
+
+    private Session session() {
+        Session session = currentSession;
+        if (session == null) {
             throw new IllegalStateException("Пользователь не авторизован");
         }
+        return session;
     }
 }
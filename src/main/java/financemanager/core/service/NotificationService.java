@@ -8,7 +8,7 @@ public class NotificationService {
     private final List<String> notifications;
 
     public NotificationService() {
-        this.notifications = new ArrayList<>();
+        this.notifications = Collections.synchronizedList(new ArrayList<>());
     }
 
     public void checkBudgetExceeded(Wallet wallet, String category) {
@@ -40,6 +40,15 @@ public class NotificationService {
         }
     }
 
+    public void checkBatch(Wallet wallet, Collection<String> categories) {
+        for (String category : categories) {
+            checkBudgetExceeded(wallet, category);
+            checkBudgetThreshold(wallet, category);
+        }
+
+        checkBalanceStatus(wallet);
+    }
+
     public void checkInitialNotifications(Wallet wallet) {
         for (Budget budget : wallet.getBudgets().values()) {
             checkBudgetExceeded(wallet, budget.getCategory());
@@ -50,7 +59,9 @@ public class NotificationService {
     }
 
     public List<String> getNotifications() {
-        return new ArrayList<>(notifications);
+        synchronized (notifications) {
+            return new ArrayList<>(notifications);
+        }
     }
 
     public void clearNotifications() {
@@ -0,0 +1,268 @@
+package financemanager.core.service;
+
+import financemanager.core.exception.*;
+import financemanager.core.model.*;
+import financemanager.core.service.FinanceService.BudgetStatus;
+import financemanager.core.service.FinanceService.CategorySummary;
+import financemanager.core.service.FinanceService.Dashboard;
+import financemanager.core.service.FinanceService.FinanceSummary;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class Session {
+    private final FinanceService financeService;
+    private final User user;
+    private final NotificationService notificationService;
+    private final FinanceEventListener eventListener;
+
+    Session(FinanceService financeService, User user, NotificationService notificationService,
+            FinanceEventListener eventListener) {
+        this.financeService = financeService;
+        this.user = user;
+        this.notificationService = notificationService;
+        this.eventListener = eventListener;
+    }
+
+    public void addIncome(String category, double amount, String description, LocalDate date) {
+        Transaction transaction = new Transaction(
+                category, amount, Transaction.Type.INCOME, description
+        );
+        mutate(wallet -> {
+            wallet.addTransaction(transaction);
+            eventListener.onTransactionAdded(user.getLogin(), transaction);
+        });
+    }
+
+    public void addExpense(String category, double amount, String description, LocalDate date) {
+        Transaction transaction = new Transaction(
+                category, amount, Transaction.Type.EXPENSE, date, description
+        );
+        mutate(wallet -> {
+            wallet.addTransaction(transaction);
+            eventListener.onTransactionAdded(user.getLogin(), transaction);
+        });
+
+        Wallet wallet = getWallet();
+        notificationService.checkBudgetExceeded(wallet, category);
+        notificationService.checkBalanceStatus(wallet);
+        notificationService.checkBudgetThreshold(wallet, category);
+    }
+
+    public void clearTransactions() {
+        mutate(wallet -> {
+            wallet.clearTransactions();
+            eventListener.onTransactionsCleared(user.getLogin());
+        });
+    }
+
+    public void setBudget(String category, double limit) {
+        mutate(wallet -> {
+            wallet.setBudget(category, limit);
+            eventListener.onBudgetSet(user.getLogin(), category, limit);
+        });
+    }
+
+    public void updateBudget(String category, double newLimit) {
+        mutate(wallet -> {
+            wallet.updateBudget(category, newLimit);
+            eventListener.onBudgetUpdated(user.getLogin(), category, newLimit);
+        });
+    }
+
+    public void removeBudget(String category) {
+        mutate(wallet -> {
+            wallet.removeBudget(category);
+            eventListener.onBudgetRemoved(user.getLogin(), category);
+        });
+    }
+
+    public void addCategory(String category) {
+        mutate(wallet -> {
+            wallet.addCategory(category);
+            eventListener.onCategoryAdded(user.getLogin(), category);
+        });
+    }
+
+    public void removeCategory(String category) {
+        mutate(wallet -> {
+            wallet.removeCategory(category);
+            eventListener.onCategoryRemoved(user.getLogin(), category);
+        });
+    }
+
+    public void transfer(String toUserLogin, double amount, String description) {
+        User receiver = financeService.findUser(toUserLogin);
+        if (receiver == null) {
+            throw new UserNotFoundException("Получатель с логином '" + toUserLogin + "' не найден");
+        }
+
+        if (amount <= 0) {
+            throw new ValidationException("Сумма перевода должна быть положительной");
+        }
+
+        String senderLogin = user.getLogin();
+        String receiverLogin = receiver.getLogin();
+        Transaction expense = new Transaction("Перевод пользователю " + receiverLogin, amount,
+                Transaction.Type.EXPENSE, LocalDate.now(), description + " → " + receiverLogin);
+        Transaction income = new Transaction("Перевод от пользователя " + senderLogin, amount,
+                Transaction.Type.INCOME, LocalDate.now(), description + " ← " + senderLogin);
+
+        Wallet senderWallet = getWallet();
+        Wallet receiverWallet = receiver.getWallet();
+        // Мониторы кошельков берутся в порядке логинов, чтобы встречные переводы не блокировали друг друга.
+        boolean senderFirst = senderLogin.compareTo(receiverLogin) <= 0;
+        Wallet first = senderFirst ? senderWallet : receiverWallet;
+        Wallet second = senderFirst ? receiverWallet : senderWallet;
+        financeService.mutate(() -> {
+            synchronized (first) {
+                synchronized (second) {
+                    if (senderWallet.getBalanceMinor() < expense.getAmountMinor()) {
+                        throw new InsufficientFundsException("Недостаточно средств для перевода");
+                    }
+                    senderWallet.addTransaction(expense);
+                    receiverWallet.addTransaction(income);
+                    eventListener.onTransfer(senderLogin, expense, receiverLogin, income);
+                }
+            }
+        });
+
+        notificationService.checkBudgetExceeded(senderWallet, expense.getCategory());
+        notificationService.checkBalanceStatus(senderWallet);
+        notificationService.checkBudgetThreshold(senderWallet, expense.getCategory());
+    }
+
+    public int importTransactions(List<Transaction> transactions) {
+        List<Transaction> imported = new ArrayList<>();
+        mutate(wallet -> {
+            imported.addAll(wallet.importTransactions(transactions));
+            if (!imported.isEmpty()) {
+                eventListener.onTransactionsImported(user.getLogin(), imported);
+            }
+        });
+
+        Set<String> touchedCategories = new HashSet<>();
+        imported.forEach(transaction -> touchedCategories.add(transaction.getCategory()));
+        notificationService.checkBatch(getWallet(), touchedCategories);
+        return imported.size();
+    }
+
+    public void addTransactions(List<Transaction> transactions) {
+        Set<String> touchedCategories = new HashSet<>();
+        mutate(wallet -> {
+            touchedCategories.addAll(wallet.addTransactions(transactions));
+            eventListener.onTransactionsImported(user.getLogin(), transactions);
+        });
+
+        notificationService.checkBatch(getWallet(), touchedCategories);
+    }
+
+    public FinanceSummary getSummary() {
+        Wallet wallet = getWallet();
+        synchronized (wallet) {
+            return summaryOf(wallet);
+        }
+    }
+
+    public Map<String, CategorySummary> getCategorySummaries() {
+        Wallet wallet = getWallet();
+        synchronized (wallet) {
+            return categorySummariesOf(wallet);
+        }
+    }
+
+    public Map<String, BudgetStatus> getBudgetStatuses() {
+        Wallet wallet = getWallet();
+        synchronized (wallet) {
+            return budgetStatusesOf(wallet);
+        }
+    }
+
+    public Dashboard getDashboard(int recentCount) {
+        if (recentCount < 0) {
+            throw new ValidationException("Количество последних транзакций не может быть отрицательным");
+        }
+
+        Wallet wallet = getWallet();
+        synchronized (wallet) {
+            List<Transaction> transactions = wallet.getTransactions();
+            int size = transactions.size();
+            List<Transaction> recent = new ArrayList<>(transactions.subList(Math.max(0, size - recentCount), size));
+            return new Dashboard(summaryOf(wallet), categorySummariesOf(wallet), budgetStatusesOf(wallet), recent);
+        }
+    }
+
+    public Map<String, Double> getExpensesBySelectedCategories(Set<String> categories) {
+        Wallet wallet = getWallet();
+
+        Set<String> existingCategories = wallet.getCategories();
+        Set<String> nonExisting = categories.stream()
+                .filter(c -> !existingCategories.contains(c))
+                .collect(Collectors.toSet());
+
+        if (!nonExisting.isEmpty()) {
+            throw new CategoryNotFoundException("Категории не найдены: " + String.join(", ", nonExisting));
+        }
+
+        return wallet.getExpensesByCategories(categories);
+    }
+
+    public Map<String, Double> getExpensesByPeriod(LocalDate startDate, LocalDate endDate) {
+        checkPeriod(startDate, endDate);
+        return getWallet().getExpensesByPeriod(startDate, endDate);
+    }
+
+    public List<Transaction> getTransactionsByPeriod(LocalDate startDate, LocalDate endDate) {
+        checkPeriod(startDate, endDate);
+        return getWallet().getTransactionsByPeriod(startDate, endDate);
+    }
+
+    public User getUser() { return user; }
+    public Wallet getWallet() { return user.getWallet(); }
+    public NotificationService getNotificationService() { return notificationService; }
+
+    private void mutate(Consumer<Wallet> mutation) {
+        Wallet wallet = getWallet();
+        financeService.mutate(() -> {
+            synchronized (wallet) {
+                mutation.accept(wallet);
+            }
+        });
+    }
+
+    private FinanceSummary summaryOf(Wallet wallet) {
+        return new FinanceSummary(
+                wallet.getTotalIncome(),
+                wallet.getTotalExpense(),
+                wallet.getBalance(),
+                wallet.getTransactions().size()
+        );
+    }
+
+    private Map<String, CategorySummary> categorySummariesOf(Wallet wallet) {
+        Map<String, Budget> budgets = wallet.getBudgets();
+        Map<String, CategorySummary> summaries = new HashMap<>();
+        for (String category : wallet.getCategories()) {
+            double income = wallet.getIncomeByCategory(category);
+            double expense = wallet.getExpenseByCategory(category);
+            summaries.put(category, new CategorySummary(category, income, expense, budgets.get(category)));
+        }
+        return summaries;
+    }
+
+    private Map<String, BudgetStatus> budgetStatusesOf(Wallet wallet) {
+        Map<String, BudgetStatus> statuses = new HashMap<>();
+        for (Budget budget : wallet.getBudgets().values()) {
+            statuses.put(budget.getCategory(), new BudgetStatus(budget, budget.getSpentMinor()));
+        }
+        return statuses;
+    }
+
+    private void checkPeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("Начальная дата не может быть позже конечной");
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package financemanager.infrastructure.export;
+
+import financemanager.core.model.Transaction;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class ColumnarExportService implements ExportService {
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+    private static final int MAGIC = 0x464D4131;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+    private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final int ESTIMATED_ROW_BYTES = 64;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte ID_UUID = 0;
+    private static final byte ID_STRING = 1;
+    private static final byte ID_NONE = 2;
+
+    private final int rowGroupSize;
+    private final String exportDir;
+
+    public ColumnarExportService() {
+        this(DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarExportService(int rowGroupSize) {
+        this(rowGroupSize, ExportFiles.EXPORT_DIR);
+    }
+
+    public ColumnarExportService(int rowGroupSize, String exportDir) {
+        this.rowGroupSize = rowGroupSize;
+        this.exportDir = exportDir;
+    }
+
+    @Override
+    public String exportTransactions(List<Transaction> transactions, String fileName) {
+        try {
+            Path path = ExportFiles.prepare(exportDir, fileName, ".fmc");
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).flip());
+
+                Map<String, Integer> dictionary = new LinkedHashMap<>();
+                List<RowGroup> rowGroups = new ArrayList<>();
+                for (int start = 0; start < transactions.size(); start += rowGroupSize) {
+                    int end = Math.min(start + rowGroupSize, transactions.size());
+                    // Группа читается в несколько проходов, поэтому копируется один раз, а не весь список.
+                    List<Transaction> rows = new ArrayList<>(transactions.subList(start, end));
+                    rowGroups.add(writeRowGroup(channel, rows, dictionary));
+                }
+                writeFooter(channel, dictionary, rowGroups);
+            }
+
+            return path.toString();
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка экспорта в колоночный формат: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink) {
+        List<Transaction> transactions = importTransactions(filePath, null, null);
+        sink.accept(transactions);
+        ImportReport report = new ImportReport();
+        report.recordImported(transactions.size());
+        return report;
+    }
+
+    public List<Transaction> importTransactions(String filePath, LocalDate from, LocalDate to) {
+        List<Transaction> transactions = new ArrayList<>();
+        scan(filePath, from, to, transactions::add);
+        return transactions;
+    }
+
+    public int scan(String filePath, LocalDate from, LocalDate to, Consumer<Transaction> consumer) {
+        long startDay = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+        long endDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+        boolean dateFilter = from != null || to != null;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel);
+            int decodedGroups = 0;
+            for (RowGroup rowGroup : footer.rowGroups) {
+                if (dateFilter && (rowGroup.maxDay < startDay || rowGroup.minDay > endDay)) {
+                    continue;
+                }
+                decodedGroups++;
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                        readFully(channel, rowGroup.offset, rowGroup.length)));
+                readRowGroup(in, footer, row -> {
+                    long day = row.getDate() != null ? row.getDate().toEpochDay() : NO_DATE;
+                    if (!dateFilter || row.getDate() != null && day >= startDay && day <= endDay) {
+                        consumer.accept(row);
+                    }
+                });
+            }
+            return decodedGroups;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка импорта из колоночного формата: " + e.getMessage(), e);
+        }
+    }
+
+    private RowGroup writeRowGroup(FileChannel channel, List<Transaction> rows,
+                                   Map<String, Integer> dictionary) throws IOException {
+        int count = rows.size();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(count * ESTIMATED_ROW_BYTES);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(count);
+
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        byte[] expenseBitmap = new byte[(count + Byte.SIZE - 1) / Byte.SIZE];
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = rows.get(i);
+            int day = transaction.getDate() != null ? (int) transaction.getDate().toEpochDay() : NO_DATE;
+            if (day != NO_DATE) {
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            }
+            if (transaction.isExpense()) {
+                expenseBitmap[i / Byte.SIZE] |= (byte) (1 << (i % Byte.SIZE));
+            }
+            out.writeInt(day);
+        }
+        out.write(expenseBitmap);
+        for (Transaction transaction : rows) {
+            out.writeInt(dictionary.computeIfAbsent(transaction.getCategory(), c -> dictionary.size()));
+        }
+        for (Transaction transaction : rows) {
+            out.writeLong(transaction.getAmountMinor());
+        }
+        for (Transaction transaction : rows) {
+            writeId(out, transaction.getId());
+        }
+        for (Transaction transaction : rows) {
+            writeString(out, transaction.getDescription());
+        }
+        out.flush();
+
+        long offset = channel.position();
+        writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()));
+        return new RowGroup(offset, bytes.size(), count, minDay, maxDay);
+    }
+
+    private void readRowGroup(DataInputStream in, Footer footer, Consumer<Transaction> consumer)
+            throws IOException {
+        String[] dictionary = footer.dictionary;
+        int count = in.readInt();
+        int[] days = new int[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = in.readInt();
+        }
+        byte[] expenseBitmap = new byte[(count + Byte.SIZE - 1) / Byte.SIZE];
+        in.readFully(expenseBitmap);
+        int[] categoryIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            categoryIds[i] = in.readInt();
+        }
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = in.readLong();
+        }
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = readId(in);
+        }
+
+        for (int i = 0; i < count; i++) {
+            boolean expense = (expenseBitmap[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0;
+            LocalDate date = days[i] != NO_DATE ? LocalDate.ofEpochDay(days[i]) : null;
+            consumer.accept(Transaction.ofMinor(ids[i], dictionary[categoryIds[i]], amounts[i],
+                    expense ? Transaction.Type.EXPENSE : Transaction.Type.INCOME, date, readString(in)));
+        }
+    }
+
+    private void writeFooter(FileChannel channel, Map<String, Integer> dictionary,
+                             List<RowGroup> rowGroups) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(dictionary.size());
+        for (String category : dictionary.keySet()) {
+            writeString(out, category);
+        }
+        out.writeInt(rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            out.writeLong(rowGroup.offset);
+            out.writeInt(rowGroup.length);
+            out.writeInt(rowGroup.rows);
+            out.writeInt(rowGroup.minDay);
+            out.writeInt(rowGroup.maxDay);
+        }
+        long footerOffset = channel.position();
+        out.writeLong(footerOffset);
+        out.writeInt(MAGIC);
+        out.flush();
+        writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    private Footer readFooter(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new IOException("Файл слишком короткий для колоночного формата");
+        }
+        ByteBuffer header = ByteBuffer.wrap(readFully(channel, 0, HEADER_LENGTH));
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Файл не является колоночным экспортом");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия колоночного формата: " + version);
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(readFully(channel, size - TRAILER_LENGTH, TRAILER_LENGTH));
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != MAGIC || footerOffset < HEADER_LENGTH || footerOffset > size - TRAILER_LENGTH) {
+            throw new IOException("Повреждён футер колоночного экспорта");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                readFully(channel, footerOffset, (int) (size - TRAILER_LENGTH - footerOffset))));
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        RowGroup[] rowGroups = new RowGroup[in.readInt()];
+        for (int i = 0; i < rowGroups.length; i++) {
+            rowGroups[i] = new RowGroup(in.readLong(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        }
+        return new Footer(dictionary, rowGroups);
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private byte[] readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Неожиданный конец колоночного экспорта");
+            }
+        }
+        return buffer.array();
+    }
+
+    private void writeId(DataOutputStream out, String id) throws IOException {
+        if (id == null) {
+            out.writeByte(ID_NONE);
+            return;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            out.writeByte(ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(ID_STRING);
+            writeString(out, id);
+        }
+    }
+
+    private String readId(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case ID_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case ID_STRING -> readString(in);
+            case ID_NONE -> null;
+            default -> throw new IOException("Неизвестный формат идентификатора: " + kind);
+        };
+    }
+
+    private UUID parseUuid(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class RowGroup {
+        final long offset;
+        final int length;
+        final int rows;
+        final int minDay;
+        final int maxDay;
+
+        RowGroup(long offset, int length, int rows, int minDay, int maxDay) {
+            this.offset = offset;
+            this.length = length;
+            this.rows = rows;
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+        }
+    }
+
+    private static class Footer {
+        final String[] dictionary;
+        final RowGroup[] rowGroups;
+
+        Footer(String[] dictionary, RowGroup[] rowGroups) {
+            this.dictionary = dictionary;
+            this.rowGroups = rowGroups;
+        }
+    }
+}
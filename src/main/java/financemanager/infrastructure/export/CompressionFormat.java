@@ -0,0 +1,67 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum CompressionFormat {
+    NONE("none", ""),
+    GZIP("gzip", ".gz"),
+    FRAMED("framed", ".fmz");
+
+    private static final int GZIP_MAGIC = 0x1F8B;
+    private static final int HEADER_LENGTH = 4;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final String name;
+    private final String extension;
+
+    CompressionFormat(String name, String extension) {
+        this.name = name;
+        this.extension = extension;
+    }
+
+    public String getName() { return name; }
+    public String getExtension() { return extension; }
+
+    public static CompressionFormat fromName(String name) {
+        for (CompressionFormat format : values()) {
+            if (format.name.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный формат сжатия: " + name
+                + ". Доступны: none, gzip, framed");
+    }
+
+    OutputStream wrap(OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, STREAM_BUFFER_SIZE);
+            case FRAMED -> new FramedDeflateOutputStream(out);
+        };
+    }
+
+    InputStream unwrap(InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+            case FRAMED -> new FramedDeflateInputStream(in);
+        };
+    }
+
+    static CompressionFormat detect(BufferedInputStream in) throws IOException {
+        in.mark(HEADER_LENGTH);
+        byte[] header = new byte[HEADER_LENGTH];
+        int read = in.readNBytes(header, 0, HEADER_LENGTH);
+        in.reset();
+
+        if (read >= 2 && (Byte.toUnsignedInt(header[0]) << Byte.SIZE | Byte.toUnsignedInt(header[1])) == GZIP_MAGIC) {
+            return GZIP;
+        }
+        if (read == HEADER_LENGTH && FramedDeflateOutputStream.hasMagic(header)) {
+            return FRAMED;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,75 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+
+class CsvChunkSplitter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean inQuotes;
+    private boolean pendingRecord;
+
+    CsvChunkSplitter(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    Chunk nextChunk(int maxRecords) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int records = 0;
+
+        while (records < maxRecords) {
+            if (position == limit && !fill()) {
+                if (pendingRecord) {
+                    records++;
+                    pendingRecord = false;
+                }
+                break;
+            }
+
+            int start = position;
+            while (position < limit && records < maxRecords) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    records++;
+                    pendingRecord = false;
+                    continue;
+                }
+                pendingRecord = true;
+            }
+            text.append(buffer, start, position - start);
+        }
+
+        return records > 0 ? new Chunk(text.toString(), records) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    static class Chunk {
+        final String text;
+        final int records;
+
+        Chunk(String text, int records) {
+            this.text = text;
+            this.records = records;
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package financemanager.infrastructure.export;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
-
+import financemanager.core.model.Money;
 import financemanager.core.model.Transaction;
 import org.apache.commons.csv.*;
 
@@ -12,53 +9,69 @@ import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 public class CsvExportService implements ExportService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] HEADER = {"ID", "Дата", "Категория", "Тип", "Сумма", "Описание"};
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
 
-    @Override
-    public String exportTransactions(List<Transaction> transactions, String fileName) {
-        if (fileName == null || fileName.trim().isEmpty()) {
-            fileName = "transactions_" + LocalDate.now();
-        }
+    private final CompressionFormat compression;
+    private final String exportDir;
 
-        String filePath = "exports/" + fileName + ".csv";
+    public CsvExportService() {
+        this(CompressionFormat.NONE);
+    }
 
-        try {
-            Files.createDirectories(Paths.get("exports"));
+    public CsvExportService(CompressionFormat compression) {
+        this(compression, ExportFiles.EXPORT_DIR);
+    }
 
-            try (Writer writer = new FileWriter(filePath);
-                 CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT
-                         .withHeader("ID", "Дата", "Категория", "Тип", "Сумма", "Описание"))) {
+    public CsvExportService(CompressionFormat compression, String exportDir) {
+        this.compression = compression;
+        this.exportDir = exportDir;
+    }
 
-                DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
-                DecimalFormat df = new DecimalFormat("#.##", symbols);
+    @Override
+    public String exportTransactions(List<Transaction> transactions, String fileName) {
+        try {
+            Path path = ExportFiles.prepare(exportDir, fileName, ".csv" + compression.getExtension());
+            try (CsvRowWriter writer = new CsvRowWriter(ExportFiles.openWriter(path, compression))) {
+                for (String column : HEADER) {
+                    writer.writeField(column);
+                }
+                writer.endRow();
 
                 for (Transaction t : transactions) {
-                    csvPrinter.printRecord(
-                            t.getId(),
-                            t.getDate().format(DATE_FORMATTER),
-                            t.getCategory(),
-                            t.getType().getDisplayName(),
-                            df.format(t.getAmount()),
-                            t.getDescription()
-                    );
+                    writer.writeField(t.getId());
+                    writer.writeDate(t.getDate());
+                    writer.writeField(t.getCategory());
+                    writer.writeField(t.getType().getDisplayName());
+                    writer.writeAmount(t.getAmountMinor());
+                    writer.writeField(t.getDescription());
+                    writer.endRow();
                 }
-
-                csvPrinter.flush();
             }
 
-            return filePath;
+            return path.toString();
         } catch (IOException e) {
             throw new RuntimeException("Ошибка экспорта в CSV: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<Transaction> importTransactions(String filePath) {
-        List<Transaction> transactions = new ArrayList<>();
+    public ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink) {
+        return importTransactions(filePath, sink, DEFAULT_CHUNK_SIZE);
+    }
 
-        try (Reader reader = new FileReader(filePath);
+    public ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink, int chunkSize) {
+        ImportReport report = new ImportReport();
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+
+        try (Reader reader = new BufferedReader(ExportFiles.openReader(filePath), BUFFER_SIZE);
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
                      .withFirstRecordAsHeader()
                      .withIgnoreHeaderCase()
@@ -66,34 +79,134 @@ public class CsvExportService implements ExportService {
 
             for (CSVRecord record : csvParser) {
                 try {
-                    String id = record.isMapped("ID") ? record.get("ID") : UUID.randomUUID().toString();
-                    LocalDate date = LocalDate.parse(record.get("Дата"), DATE_FORMATTER);
-                    String category = record.get("Категория");
-                    String typeStr = record.get("Тип");
-                    double amount = Double.parseDouble(record.get("Сумма"));
-                    String description = record.isMapped("Описание") ? record.get("Описание") : "";
-
-                    Transaction.Type type;
-                    if (typeStr.equalsIgnoreCase("доход") || typeStr.equalsIgnoreCase("income")) {
-                        type = Transaction.Type.INCOME;
-                    } else if (typeStr.equalsIgnoreCase("расход") || typeStr.equalsIgnoreCase("expense")) {
-                        type = Transaction.Type.EXPENSE;
-                    } else {
-                        throw new IllegalArgumentException("Неизвестный тип транзакции: " + typeStr);
-                    }
-
-                    Transaction transaction = new Transaction(id, category, amount, type, date, description);
-                    transactions.add(transaction);
-
+                    chunk.add(parseRecord(record));
                 } catch (Exception e) {
-                    System.err.println("Ошибка обработки строки " + record.getRecordNumber() + ": " + e.getMessage());
+                    report.recordError(record.getRecordNumber(), e.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    sink.accept(chunk);
+                    report.recordImported(chunk.size());
+                    chunk = new ArrayList<>(chunkSize);
                 }
             }
 
-        } catch (IOException e) {
+            if (!chunk.isEmpty()) {
+                sink.accept(chunk);
+                report.recordImported(chunk.size());
+            }
+        } catch (IOException | UncheckedIOException e) {
             throw new RuntimeException("Ошибка импорта из CSV: " + e.getMessage(), e);
         }
 
-        return transactions;
+        return report;
+    }
+
+    public ImportReport importTransactionsParallel(String filePath, Consumer<List<Transaction>> sink,
+                                                   ForkJoinPool pool) {
+        return importTransactionsParallel(filePath, sink, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ImportReport importTransactionsParallel(String filePath, Consumer<List<Transaction>> sink,
+                                                   ForkJoinPool pool, int chunkSize) {
+        ImportReport report = new ImportReport();
+        Deque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+        int window = pool.getParallelism() * 2;
+
+        try (CsvChunkSplitter splitter = new CsvChunkSplitter(ExportFiles.openReader(filePath))) {
+            CsvChunkSplitter.Chunk headerChunk = splitter.nextChunk(1);
+            if (headerChunk == null) {
+                return report;
+            }
+            CSVFormat format = CSVFormat.DEFAULT
+                    .withHeader(parseHeader(headerChunk.text))
+                    .withIgnoreHeaderCase()
+                    .withTrim();
+
+            long nextRecord = 1;
+            CsvChunkSplitter.Chunk chunk;
+            while ((chunk = splitter.nextChunk(chunkSize)) != null) {
+                String text = chunk.text;
+                long firstRecord = nextRecord;
+                nextRecord += chunk.records;
+                inFlight.add(pool.submit(() -> parseChunk(text, format, firstRecord, chunkSize)));
+                if (inFlight.size() >= window) {
+                    deliver(inFlight.poll().join(), sink, report);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                deliver(inFlight.poll().join(), sink, report);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Ошибка импорта из CSV: " + e.getMessage(), e);
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        return report;
+    }
+
+    private String[] parseHeader(String headerLine) throws IOException {
+        try (CSVParser parser = CSVParser.parse(headerLine, CSVFormat.DEFAULT.withTrim())) {
+            Iterator<CSVRecord> records = parser.iterator();
+            if (!records.hasNext()) {
+                throw new IOException("Пустой заголовок CSV");
+            }
+            return records.next().toList().toArray(new String[0]);
+        }
+    }
+
+    private ParsedChunk parseChunk(String text, CSVFormat format, long firstRecord, int chunkSize) {
+        ParsedChunk parsed = new ParsedChunk(chunkSize);
+        try (CSVParser parser = CSVParser.parse(text, format)) {
+            for (CSVRecord record : parser) {
+                try {
+                    parsed.transactions.add(parseRecord(record));
+                } catch (Exception e) {
+                    parsed.report.recordError(firstRecord + record.getRecordNumber() - 1, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return parsed;
+    }
+
+    private void deliver(ParsedChunk parsed, Consumer<List<Transaction>> sink, ImportReport report) {
+        if (!parsed.transactions.isEmpty()) {
+            sink.accept(parsed.transactions);
+            parsed.report.recordImported(parsed.transactions.size());
+        }
+        report.merge(parsed.report);
+    }
+
+    private Transaction parseRecord(CSVRecord record) {
+        String id = record.isMapped("ID") ? record.get("ID") : UUID.randomUUID().toString();
+        LocalDate date = LocalDate.parse(record.get("Дата"), DATE_FORMATTER);
+        String category = record.get("Категория");
+        String typeStr = record.get("Тип");
+        long amount = Money.parse(record.get("Сумма"));
+        String description = record.isMapped("Описание") ? record.get("Описание") : "";
+
+        Transaction.Type type;
+        if (typeStr.equalsIgnoreCase("доход") || typeStr.equalsIgnoreCase("income")) {
+            type = Transaction.Type.INCOME;
+        } else if (typeStr.equalsIgnoreCase("расход") || typeStr.equalsIgnoreCase("expense")) {
+            type = Transaction.Type.EXPENSE;
+        } else {
+            throw new IllegalArgumentException("Неизвестный тип транзакции: " + typeStr);
+        }
+
+        return Transaction.ofMinor(id, category, amount, type, date, description);
+    }
+
+    private static class ParsedChunk {
+        final List<Transaction> transactions;
+        final ImportReport report;
+
+        ParsedChunk(int chunkSize) {
+            this.transactions = new ArrayList<>(chunkSize);
+            this.report = new ImportReport();
+        }
     }
 }
@@ -0,0 +1,91 @@
+package financemanager.infrastructure.export;
+
+import financemanager.core.model.Money;
+
+import java.io.*;
+import java.time.LocalDate;
+
+class CsvRowWriter implements Closeable {
+    private static final int YEAR_DIGITS_LIMIT = 10_000;
+
+    private final Writer writer;
+    private final char[] scratch;
+    private boolean rowStarted;
+
+    CsvRowWriter(Writer writer) {
+        this.writer = writer;
+        this.scratch = new char[ExportFormat.MAX_LENGTH];
+    }
+
+    void writeField(String value) throws IOException {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    void writeAmount(long amountMinor) throws IOException {
+        separate();
+        int start = Money.format(amountMinor, scratch);
+        writer.write(scratch, start, scratch.length - start);
+    }
+
+    void writeDate(LocalDate date) throws IOException {
+        separate();
+        if (date == null) {
+            return;
+        }
+        if (date.getYear() < 0 || date.getYear() >= YEAR_DIGITS_LIMIT) {
+            writer.write(date.toString());
+            return;
+        }
+        int length = ExportFormat.formatDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), scratch);
+        writer.write(scratch, 0, length);
+    }
+
+    void endRow() throws IOException {
+        writer.write("\r\n");
+        rowStarted = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void separate() throws IOException {
+        if (rowStarted) {
+            writer.write(',');
+        }
+        rowStarted = true;
+    }
+
+    private boolean needsQuotes(String value) {
+        if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
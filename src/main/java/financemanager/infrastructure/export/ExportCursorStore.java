@@ -0,0 +1,66 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Properties;
+
+public class ExportCursorStore {
+    private static final String CURSOR_FILE = "export_cursors.properties";
+    private static final String LAST_ID_SUFFIX = ".lastId";
+
+    private final Path path;
+
+    public ExportCursorStore() {
+        this(ExportFiles.EXPORT_DIR);
+    }
+
+    public ExportCursorStore(String directory) {
+        this.path = Paths.get(directory, CURSOR_FILE);
+    }
+
+    public synchronized int load(String key) {
+        String value = read().getProperty(key);
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+
+    public synchronized String loadLastId(String key) {
+        return read().getProperty(key + LAST_ID_SUFFIX);
+    }
+
+    public synchronized void save(String key, int row) {
+        save(key, row, null);
+    }
+
+    public synchronized void save(String key, int row, String lastId) {
+        Properties cursors = read();
+        cursors.setProperty(key, Integer.toString(row));
+        if (lastId != null) {
+            cursors.setProperty(key + LAST_ID_SUFFIX, lastId);
+        } else {
+            cursors.remove(key + LAST_ID_SUFFIX);
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmpPath = path.resolveSibling(CURSOR_FILE + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+                cursors.store(writer, null);
+            }
+            Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сохранения позиции экспорта", e);
+        }
+    }
+
+    private Properties read() {
+        Properties cursors = new Properties();
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                cursors.load(reader);
+            } catch (IOException e) {
+                throw new RuntimeException("Ошибка чтения позиции экспорта", e);
+            }
+        }
+        return cursors;
+    }
+}
@@ -0,0 +1,48 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+
+final class ExportFiles {
+    static final String EXPORT_DIR = "exports";
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    private ExportFiles() {}
+
+    static Path prepare(String exportDir, String fileName, String extension) throws IOException {
+        if (fileName == null || fileName.trim().isEmpty()) {
+            fileName = "transactions_" + LocalDate.now();
+        }
+        Files.createDirectories(Paths.get(exportDir));
+        return Paths.get(exportDir, fileName + extension);
+    }
+
+    static OutputStream openStream(Path path, CompressionFormat compression) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = compression.wrap(Channels.newOutputStream(channel));
+        return new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    static Writer openWriter(Path path, CompressionFormat compression) throws IOException {
+        return new OutputStreamWriter(openStream(path, compression), StandardCharsets.UTF_8);
+    }
+
+    static InputStream openInput(String filePath) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(filePath)), BUFFER_SIZE);
+        try {
+            return CompressionFormat.detect(in).unwrap(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    static Reader openReader(String filePath) throws IOException {
+        return new InputStreamReader(openInput(filePath), StandardCharsets.UTF_8);
+    }
+}
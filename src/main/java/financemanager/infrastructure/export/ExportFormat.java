@@ -0,0 +1,26 @@
+package financemanager.infrastructure.export;
+
+final class ExportFormat {
+    static final int MAX_LENGTH = 24;
+    private static final int YEAR_WIDTH = 4;
+    private static final int MONTH_END = YEAR_WIDTH + 3;
+    private static final int DATE_LENGTH = MONTH_END + 3;
+
+    private ExportFormat() {}
+
+    static int formatDate(int year, int month, int day, char[] out) {
+        writeDigits(year, YEAR_WIDTH, out, 0);
+        out[YEAR_WIDTH] = '-';
+        writeDigits(month, 2, out, YEAR_WIDTH + 1);
+        out[MONTH_END] = '-';
+        writeDigits(day, 2, out, MONTH_END + 1);
+        return DATE_LENGTH;
+    }
+
+    private static void writeDigits(int value, int width, char[] out, int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -1,9 +1,46 @@
 package financemanager.infrastructure.export;
 
 import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionFilter;
+import financemanager.core.model.Wallet;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ExportService {
     String exportTransactions(List<Transaction> transactions, String fileName);
-    List<Transaction> importTransactions(String filePath);
+
+    default String exportTransactions(Wallet wallet, TransactionFilter filter, String fileName) {
+        return exportTransactions(wallet.selectTransactionView(filter), fileName);
+    }
+
+    default String exportIncremental(Wallet wallet, TransactionFilter filter, String fileName,
+                                     ExportCursorStore cursorStore, String cursorKey) {
+        String signature = filter.signature();
+        String key = signature.isEmpty() ? cursorKey : cursorKey + "." + Integer.toHexString(signature.hashCode());
+        List<Transaction> rows = wallet.getTransactions();
+        int end = rows.size();
+        int start = cursorStore.load(key);
+        String lastId = cursorStore.loadLastId(key);
+        // После очистки кошелька строка перед курсором уже не та, что выгружалась, — начинаем сначала.
+        if (start > end || start > 0 && lastId != null && !lastId.equals(rows.get(start - 1).getId())) {
+            start = 0;
+        }
+        String filePath = exportTransactions(wallet, filter.withRows(start, end),
+                fileName + "_" + start + "-" + end);
+        cursorStore.save(key, end, end > 0 ? rows.get(end - 1).getId() : null);
+        return filePath;
+    }
+
+    ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink);
+
+    default List<Transaction> importTransactions(String filePath) {
+        List<Transaction> transactions = new ArrayList<>();
+        ImportReport report = importTransactions(filePath, transactions::addAll);
+        if (report.hasErrors()) {
+            throw new RuntimeException("Ошибка импорта: строк с ошибками " + report.getFailedCount()
+                    + ", первая: " + report.getErrorSamples().get(0));
+        }
+        return transactions;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+class FramedDeflateInputStream extends InputStream {
+    private final DataInputStream in;
+    private final Inflater inflater;
+    private final byte[] frame;
+    private final byte[] compressed;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    FramedDeflateInputStream(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        this.inflater = new Inflater();
+        this.frame = new byte[FramedDeflateOutputStream.FRAME_SIZE];
+        this.compressed = new byte[FramedDeflateOutputStream.MAX_COMPRESSED_FRAME_SIZE];
+        if (this.in.readInt() != FramedDeflateOutputStream.MAGIC) {
+            throw new IOException("Файл не является сжатым экспортом");
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !readFrame()) {
+            return -1;
+        }
+        return Byte.toUnsignedInt(frame[position++]);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int count) throws IOException {
+        if (count == 0) {
+            return 0;
+        }
+        if (position == limit && !readFrame()) {
+            return -1;
+        }
+        int chunk = Math.min(count, limit - position);
+        System.arraycopy(frame, position, bytes, offset, chunk);
+        position += chunk;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private boolean readFrame() throws IOException {
+        if (finished) {
+            return false;
+        }
+        int rawLength = in.readInt();
+        if (rawLength == 0) {
+            finished = true;
+            return false;
+        }
+        int compressedLength = in.readInt();
+        if (rawLength < 0 || rawLength > frame.length
+                || compressedLength < 0 || compressedLength > compressed.length) {
+            throw new IOException("Повреждённый кадр сжатого экспорта");
+        }
+        in.readFully(compressed, 0, compressedLength);
+
+        try {
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(frame, inflated, rawLength - inflated);
+                if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength) {
+                throw new IOException("Повреждённый кадр сжатого экспорта");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Повреждённый кадр сжатого экспорта", e);
+        }
+
+        position = 0;
+        limit = rawLength;
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package financemanager.infrastructure.export;
+
+import java.io.*;
+import java.util.zip.Deflater;
+
+class FramedDeflateOutputStream extends OutputStream {
+    static final int MAGIC = 0x464D5A31;
+    static final int FRAME_SIZE = 1024 * 1024;
+    // zlib compressBound(FRAME_SIZE): наибольший результат Deflate для одного кадра.
+    static final int MAX_COMPRESSED_FRAME_SIZE = 1_048_909;
+
+    private final DataOutputStream out;
+    private final Deflater deflater;
+    private final byte[] frame;
+    private final byte[] compressed;
+    private int length;
+    private boolean closed;
+
+    FramedDeflateOutputStream(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.deflater = new Deflater();
+        this.frame = new byte[FRAME_SIZE];
+        this.compressed = new byte[MAX_COMPRESSED_FRAME_SIZE];
+        this.out.writeInt(MAGIC);
+    }
+
+    static boolean hasMagic(byte[] header) {
+        int magic = 0;
+        for (byte b : header) {
+            magic = magic << Byte.SIZE | Byte.toUnsignedInt(b);
+        }
+        return magic == MAGIC;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (length == frame.length) {
+            writeFrame();
+        }
+        frame[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) throws IOException {
+        while (count > 0) {
+            if (length == frame.length) {
+                writeFrame();
+            }
+            int chunk = Math.min(count, frame.length - length);
+            System.arraycopy(bytes, offset, frame, length, chunk);
+            length += chunk;
+            offset += chunk;
+            count -= chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeFrame();
+            out.writeInt(0);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (length == 0) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(frame, 0, length);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                throw new IOException("Сжатый кадр превышает допустимый размер");
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        out.writeInt(length);
+        out.writeInt(compressedLength);
+        out.write(compressed, 0, compressedLength);
+        length = 0;
+    }
+}
@@ -0,0 +1,48 @@
+package financemanager.infrastructure.export;
+
+import java.util.*;
+
+public class ImportReport {
+    public static final int DEFAULT_MAX_SAMPLES = 10;
+
+    private final int maxSamples;
+    private final List<String> errorSamples;
+    private long importedCount;
+    private long failedCount;
+
+    public ImportReport() {
+        this(DEFAULT_MAX_SAMPLES);
+    }
+
+    public ImportReport(int maxSamples) {
+        this.maxSamples = maxSamples;
+        this.errorSamples = new ArrayList<>();
+    }
+
+    public void recordImported(int count) {
+        importedCount += count;
+    }
+
+    public void recordError(long recordNumber, String message) {
+        failedCount++;
+        if (errorSamples.size() < maxSamples) {
+            errorSamples.add("Строка " + recordNumber + ": " + message);
+        }
+    }
+
+    public void merge(ImportReport other) {
+        importedCount += other.importedCount;
+        failedCount += other.failedCount;
+        for (String sample : other.errorSamples) {
+            if (errorSamples.size() == maxSamples) {
+                break;
+            }
+            errorSamples.add(sample);
+        }
+    }
+
+    public long getImportedCount() { return importedCount; }
+    public long getFailedCount() { return failedCount; }
+    public boolean hasErrors() { return failedCount > 0; }
+    public List<String> getErrorSamples() { return Collections.unmodifiableList(errorSamples); }
+}
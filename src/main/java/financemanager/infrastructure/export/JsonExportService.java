@@ -1,7 +1,11 @@
 package financemanager.infrastructure.export;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import financemanager.core.model.Money;
 import financemanager.core.model.Transaction;
 import financemanager.infrastructure.json_models.TransactionData;
 
@@ -9,41 +13,109 @@ import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class JsonExportService implements ExportService {
     private final ObjectMapper objectMapper;
+    private final CompressionFormat compression;
+    private final String exportDir;
 
     public JsonExportService() {
+        this(CompressionFormat.NONE);
+    }
+
+    public JsonExportService(CompressionFormat compression) {
+        this(compression, ExportFiles.EXPORT_DIR);
+    }
+
+    public JsonExportService(CompressionFormat compression, String exportDir) {
+        this.compression = compression;
+        this.exportDir = exportDir;
         this.objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.enable(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT);
     }
 
     @Override
     public String exportTransactions(List<Transaction> transactions, String fileName) {
-        if (fileName == null || fileName.trim().isEmpty()) {
-            fileName = "transactions_" + LocalDate.now();
-        }
-
-        String filePath = "exports/" + fileName + ".json";
-
         try {
-            Files.createDirectories(Paths.get("exports"));
+            Path path = ExportFiles.prepare(exportDir, fileName, ".json" + compression.getExtension());
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(ExportFiles.openStream(path, compression))) {
+                char[] amountBuffer = new char[Money.MAX_LENGTH];
+                generator.writeStartArray();
+                for (Transaction transaction : transactions) {
+                    writeTransaction(generator, transaction, amountBuffer);
+                }
+                generator.writeEndArray();
+            }
 
-            objectMapper.writeValue(new File(filePath), transactions.stream().map(TransactionData::new).collect(Collectors.toList()));
-
-            return filePath;
+            return path.toString();
         } catch (IOException e) {
             throw new RuntimeException("Ошибка экспорта в JSON: " + e.getMessage(), e);
         }
     }
 
+    private void writeTransaction(JsonGenerator generator, Transaction transaction, char[] amountBuffer)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", transaction.getId());
+        generator.writeStringField("category", transaction.getCategory());
+        generator.writeFieldName("amount");
+        int start = Money.format(transaction.getAmountMinor(), amountBuffer);
+        generator.writeNumber(amountBuffer, start, amountBuffer.length - start);
+        generator.writeStringField("type", transaction.getType().name());
+        generator.writeStringField("description", transaction.getDescription());
+        LocalDate date = transaction.getDate();
+        if (date != null) {
+            generator.writeArrayFieldStart("date");
+            generator.writeNumber(date.getYear());
+            generator.writeNumber(date.getMonthValue());
+            generator.writeNumber(date.getDayOfMonth());
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
     @Override
-    public List<Transaction> importTransactions(String filePath) {
-        try {
-            TransactionData[] transactionsArray = objectMapper.readValue(new File(filePath), TransactionData[].class);
-            return Arrays.stream(transactionsArray).toList().stream().map(TransactionData::restoreToTransaction).collect(Collectors.toList());
+    public ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink) {
+        return importTransactions(filePath, sink, CsvExportService.DEFAULT_CHUNK_SIZE);
+    }
+
+    public ImportReport importTransactions(String filePath, Consumer<List<Transaction>> sink, int chunkSize) {
+        ImportReport report = new ImportReport();
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+
+        try (InputStream in = ExportFiles.openInput(filePath);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Ожидался массив транзакций");
+            }
+
+            long recordNumber = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                recordNumber++;
+                TransactionData data = objectMapper.readValue(parser, TransactionData.class);
+                try {
+                    chunk.add(data.restoreToTransaction());
+                } catch (RuntimeException e) {
+                    report.recordError(recordNumber, e.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    sink.accept(chunk);
+                    report.recordImported(chunk.size());
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IOException("Неожиданный элемент в массиве транзакций: " + parser.currentToken());
+            }
+
+            if (!chunk.isEmpty()) {
+                sink.accept(chunk);
+                report.recordImported(chunk.size());
+            }
+            return report;
         } catch (IOException e) {
             throw new RuntimeException("Ошибка импорта из JSON: " + e.getMessage(), e);
         }
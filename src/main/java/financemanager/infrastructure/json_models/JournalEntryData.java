@@ -0,0 +1,53 @@
+package financemanager.infrastructure.json_models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JournalEntryData {
+    public enum Operation {
+        REGISTER,
+        TRANSACTION,
+        CLEAR,
+        BUDGET_SET,
+        BUDGET_UPDATE,
+        BUDGET_REMOVE,
+        CATEGORY_ADD,
+        CATEGORY_REMOVE,
+        TRANSFER
+    }
+
+    private Operation operation;
+    private String login;
+    private String passwordHash;
+    private String category;
+    private Double limit;
+    private TransactionData transaction;
+    private String receiverLogin;
+    private TransactionData receiverTransaction;
+
+    public JournalEntryData() {}
+
+    public JournalEntryData(Operation operation, String login) {
+        this.operation = operation;
+        this.login = login;
+    }
+
+    public Operation getOperation() { return operation; }
+    public void setOperation(Operation operation) { this.operation = operation; }
+    public String getLogin() { return login; }
+    public void setLogin(String login) { this.login = login; }
+    public String getPasswordHash() { return passwordHash; }
+    public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Double getLimit() { return limit; }
+    public void setLimit(Double limit) { this.limit = limit; }
+    public TransactionData getTransaction() { return transaction; }
+    public void setTransaction(TransactionData transaction) { this.transaction = transaction; }
+    public String getReceiverLogin() { return receiverLogin; }
+    public void setReceiverLogin(String receiverLogin) { this.receiverLogin = receiverLogin; }
+    public TransactionData getReceiverTransaction() { return receiverTransaction; }
+    public void setReceiverTransaction(TransactionData receiverTransaction) {
+        this.receiverTransaction = receiverTransaction;
+    }
+}
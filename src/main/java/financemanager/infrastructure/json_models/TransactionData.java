@@ -1,5 +1,7 @@
 package financemanager.infrastructure.json_models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import financemanager.core.model.Money;
 import financemanager.core.model.Transaction;
 
 import java.time.LocalDate;
@@ -7,7 +9,7 @@ import java.time.LocalDate;
 public class TransactionData {
     private String id;
     private String category;
-    private double amount;
+    private long amountMinor;
     private Transaction.Type type;
     private String description;
     private LocalDate date;
@@ -17,14 +19,14 @@ public class TransactionData {
     public TransactionData(Transaction transaction) {
         this.id = transaction.getId();
         this.category = transaction.getCategory();
-        this.amount = transaction.getAmount();
+        this.amountMinor = transaction.getAmountMinor();
         this.type = transaction.getType();
         this.description = transaction.getDescription();
         this.date = transaction.getDate();
     }
 
     public Transaction restoreToTransaction() {
-        return new Transaction(id, category, amount, type, date, description);
+        return Transaction.ofMinor(id, category, amountMinor, type, date, description);
     }
 
     public String getId() {
@@ -44,11 +46,16 @@ public class TransactionData {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor);
     }
 
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amountMinor = Money.ofMajor(amount);
+    }
+
+    @JsonIgnore
+    public long getAmountMinor() {
+        return amountMinor;
     }
 
     public Transaction.Type getType() {
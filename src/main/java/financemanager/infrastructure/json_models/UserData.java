@@ -1,6 +1,7 @@
 package financemanager.infrastructure.json_models;
 
 import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
 
 public class UserData {
     private String login;
@@ -16,21 +17,8 @@ public class UserData {
     }
 
     public User toUser() {
-        User user = new User(login, "dummy");
-
-        try {
-            java.lang.reflect.Field passwordHashField = User.class.getDeclaredField("passwordHash");
-            passwordHashField.setAccessible(true);
-            passwordHashField.set(user, passwordHash);
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка восстановления пользователя", e);
-        }
-
-        if (wallet != null) {
-            wallet.restoreToWallet(user.getWallet());
-        }
-
-        return user;
+        Wallet restoredWallet = wallet != null ? wallet.toWallet(login) : new Wallet(login);
+        return User.restore(login, passwordHash, restoredWallet);
     }
 
     public String getLogin() { return login; }
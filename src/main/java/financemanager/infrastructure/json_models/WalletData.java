@@ -1,8 +1,6 @@
 package financemanager.infrastructure.json_models;
 
-import financemanager.core.model.Budget;
-import financemanager.core.model.Transaction;
-import financemanager.core.model.Wallet;
+import financemanager.core.model.*;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -25,38 +23,16 @@ public class WalletData {
         this.categories = new HashSet<>(wallet.getCategories());
     }
 
-    public void restoreToWallet(Wallet wallet) {
-        try {
-            java.lang.reflect.Field balanceField = Wallet.class.getDeclaredField("balance");
-            balanceField.setAccessible(true);
-            balanceField.set(wallet, balance);
-
-            java.lang.reflect.Field transactionsField = Wallet.class.getDeclaredField("transactions");
-            transactionsField.setAccessible(true);
-            transactionsField.set(wallet, new ArrayList<>(transactions.stream().map(TransactionData::restoreToTransaction).toList()));
-
-            java.lang.reflect.Field budgetsField = Wallet.class.getDeclaredField("budgets");
-            budgetsField.setAccessible(true);
-            Map<String, Budget> walletBudgets = new HashMap<String, Budget>();
-            budgets.forEach((s, budgetData) -> walletBudgets.put(s, budgetData.restoreToBudget()));
-            budgetsField.set(wallet, walletBudgets);
-
-            java.lang.reflect.Field categoriesField = Wallet.class.getDeclaredField("categories");
-            categoriesField.setAccessible(true);
-            categoriesField.set(wallet, new HashSet<>(categories));
+    public Wallet toWallet(String login) {
+        return toWallet(login, new CompactTransactionStore());
+    }
 
-            for (TransactionData transactionData : transactions) {
-                Transaction transaction = transactionData.restoreToTransaction();
-                if (transaction.isExpense()) {
-                    Budget budget = walletBudgets.get(transaction.getCategory());
-                    if (budget != null) {
-                        budget.addSpending(transaction.getAmount());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка восстановления кошелька", e);
-        }
+    public Wallet toWallet(String login, TransactionStore store) {
+        List<Budget> restoredBudgets = new ArrayList<>(budgets.size());
+        budgets.values().forEach(budgetData -> restoredBudgets.add(budgetData.restoreToBudget()));
+        List<Transaction> restoredTransactions = new ArrayList<>(transactions.size());
+        transactions.forEach(transactionData -> restoredTransactions.add(transactionData.restoreToTransaction()));
+        return Wallet.restore(login, store, restoredBudgets, categories, restoredTransactions);
     }
 
     public String getUserId() { return userId; }
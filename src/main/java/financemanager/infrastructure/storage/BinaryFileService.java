@@ -0,0 +1,210 @@
+package financemanager.infrastructure.storage;
+
+import financemanager.core.model.Budget;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+public class BinaryFileService implements StorageService {
+    static final String USERS_FILE = "users.bin";
+    private static final int MAGIC = 0x464D4231;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte TYPE_INCOME = 0;
+    private static final byte TYPE_EXPENSE = 1;
+    private static final byte ID_UUID = 0;
+    private static final byte ID_STRING = 1;
+    private static final byte ID_NONE = 2;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final JsonFileService userDataService;
+    private final Path usersPath;
+    private final Path tmpPath;
+
+    public BinaryFileService() {
+        this(JsonFileService.DATA_DIR);
+    }
+
+    public BinaryFileService(String dataDir) {
+        this.userDataService = new JsonFileService(dataDir);
+        this.usersPath = Paths.get(dataDir, USERS_FILE);
+        this.tmpPath = Paths.get(dataDir, USERS_FILE + ".tmp");
+    }
+
+    @Override
+    public void saveUsers(Map<String, User> users) {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpPath), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(users.size());
+            for (User user : users.values()) {
+                writeString(out, user.getLogin());
+                writeString(out, user.getPasswordHash());
+                writeWallet(out, user.getWallet());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сохранения пользователей", e);
+        }
+
+        try {
+            Files.move(tmpPath, usersPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сохранения пользователей", e);
+        }
+    }
+
+    @Override
+    public Map<String, User> loadUsers() {
+        if (!Files.exists(usersPath)) {
+            return new HashMap<>();
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(usersPath), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Файл не является бинарным хранилищем");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия бинарного формата: " + version);
+            }
+
+            int userCount = in.readInt();
+            Map<String, User> users = new HashMap<>(userCount * 2);
+            for (int i = 0; i < userCount; i++) {
+                String login = readString(in);
+                String passwordHash = readString(in);
+                users.put(login, User.restore(login, passwordHash, readWallet(in, login)));
+            }
+            return users;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка загрузки пользователей", e);
+        }
+    }
+
+    @Override
+    public void saveUserData(String userId, Object data) {
+        userDataService.saveUserData(userId, data);
+    }
+
+    @Override
+    public <T> T loadUserData(String userId, Class<T> type) {
+        return userDataService.loadUserData(userId, type);
+    }
+
+    private void writeWallet(DataOutputStream out, Wallet wallet) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        wallet.getCategories().forEach(category -> dictionary.putIfAbsent(category, dictionary.size()));
+        wallet.getBudgets().keySet().forEach(category -> dictionary.putIfAbsent(category, dictionary.size()));
+        wallet.getTransactions().forEach(t -> dictionary.putIfAbsent(t.getCategory(), dictionary.size()));
+
+        out.writeInt(dictionary.size());
+        for (String category : dictionary.keySet()) {
+            writeString(out, category);
+            out.writeBoolean(wallet.getCategories().contains(category));
+        }
+
+        out.writeInt(wallet.getBudgets().size());
+        for (Budget budget : wallet.getBudgets().values()) {
+            out.writeInt(dictionary.get(budget.getCategory()));
+            out.writeLong(budget.getLimitMinor());
+        }
+
+        List<Transaction> transactions = wallet.getTransactions();
+        out.writeInt(transactions.size());
+        for (Transaction transaction : transactions) {
+            out.writeInt(transaction.getDate() != null ? (int) transaction.getDate().toEpochDay() : NO_DATE);
+            out.writeByte(transaction.isIncome() ? TYPE_INCOME : TYPE_EXPENSE);
+            out.writeInt(dictionary.get(transaction.getCategory()));
+            out.writeLong(transaction.getAmountMinor());
+            writeId(out, transaction.getId());
+            writeString(out, transaction.getDescription());
+        }
+    }
+
+    private Wallet readWallet(DataInputStream in, String login) throws IOException {
+        int categoryCount = in.readInt();
+        String[] dictionary = new String[categoryCount];
+        WalletRestorer restorer = new WalletRestorer(login);
+        for (int i = 0; i < categoryCount; i++) {
+            dictionary[i] = readString(in);
+            if (in.readBoolean()) {
+                restorer.addCategory(dictionary[i]);
+            }
+        }
+
+        int budgetCount = in.readInt();
+        for (int i = 0; i < budgetCount; i++) {
+            String category = dictionary[in.readInt()];
+            restorer.addBudget(Budget.ofMinor(category, in.readLong()));
+        }
+
+        int transactionCount = in.readInt();
+        for (int i = 0; i < transactionCount; i++) {
+            int epochDay = in.readInt();
+            Transaction.Type type = in.readByte() == TYPE_INCOME ? Transaction.Type.INCOME : Transaction.Type.EXPENSE;
+            String category = dictionary[in.readInt()];
+            long amount = in.readLong();
+            String id = readId(in);
+            String description = readString(in);
+            LocalDate date = epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+            restorer.addTransaction(Transaction.ofMinor(id, category, amount, type, date, description));
+        }
+
+        return restorer.finish();
+    }
+
+    private void writeId(DataOutputStream out, String id) throws IOException {
+        if (id == null) {
+            out.writeByte(ID_NONE);
+            return;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            out.writeByte(ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(ID_STRING);
+            writeString(out, id);
+        }
+    }
+
+    private String readId(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case ID_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case ID_STRING -> readString(in);
+            case ID_NONE -> null;
+            default -> throw new IOException("Неизвестный формат идентификатора: " + kind);
+        };
+    }
+
+    private UUID parseUuid(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,364 @@
+package financemanager.infrastructure.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+import financemanager.core.service.FinanceEventListener;
+import financemanager.infrastructure.json_models.JournalEntryData;
+import financemanager.infrastructure.json_models.JournalEntryData.Operation;
+import financemanager.infrastructure.json_models.TransactionData;
+import financemanager.infrastructure.json_models.UserData;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class JournalFileService implements StorageService, FinanceEventListener {
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final String SNAPSHOT_TMP_SUFFIX = ".tmp";
+    private static final int SYNC_BATCH_SIZE = 32;
+    private static final long SYNC_INTERVAL_MS = 1000;
+    private static final int COMPACTION_THRESHOLD = 10_000;
+
+    private final JsonFileService snapshotService;
+    private final ObjectMapper objectMapper;
+    private final Path journalPath;
+    private final Path compactingPath;
+    private final Path snapshotPath;
+    private final Path snapshotTmpPath;
+    private FileChannel journal;
+    private ScheduledExecutorService syncScheduler;
+    private int unsyncedEntries;
+    private int entriesSinceSnapshot;
+
+    public JournalFileService() {
+        this(JsonFileService.DATA_DIR);
+    }
+
+    public JournalFileService(String dataDir) {
+        this.snapshotService = new JsonFileService(dataDir);
+        this.objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        this.journalPath = Paths.get(dataDir, JOURNAL_FILE);
+        this.compactingPath = Paths.get(dataDir, JOURNAL_FILE + COMPACTING_SUFFIX);
+        this.snapshotPath = Paths.get(dataDir, JsonFileService.USERS_FILE);
+        this.snapshotTmpPath = Paths.get(dataDir, JsonFileService.USERS_FILE + SNAPSHOT_TMP_SUFFIX);
+    }
+
+    @Override
+    public synchronized boolean isSnapshotDue() {
+        return entriesSinceSnapshot >= COMPACTION_THRESHOLD;
+    }
+
+    @Override
+    public void onSnapshotDue(Map<String, User> users) {
+        saveUsers(users);
+    }
+
+    @Override
+    public synchronized void saveUsers(Map<String, User> users) {
+        if (entriesSinceSnapshot > 0 || !Files.exists(snapshotPath)) {
+            compact(users);
+        } else {
+            sync();
+        }
+    }
+
+    @Override
+    public synchronized void saveAllUsers(Map<String, User> users) {
+        compact(users);
+    }
+
+    @Override
+    public synchronized Map<String, User> loadUsers() {
+        try {
+            recoverInterruptedCompaction();
+            Map<String, User> users = snapshotService.readUsers(snapshotPath);
+            long validBytes = replay(users);
+            openJournal();
+            if (journal.size() > validBytes) {
+                journal.truncate(validBytes);
+                journal.force(true);
+            }
+            return users;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка загрузки журнала", e);
+        }
+    }
+
+    @Override
+    public void saveUserData(String userId, Object data) {
+        snapshotService.saveUserData(userId, data);
+    }
+
+    @Override
+    public <T> T loadUserData(String userId, Class<T> type) {
+        return snapshotService.loadUserData(userId, type);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (syncScheduler != null) {
+            syncScheduler.shutdown();
+            syncScheduler = null;
+        }
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.force(true);
+            journal.close();
+            journal = null;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка закрытия журнала", e);
+        }
+    }
+
+    @Override
+    public void onUserRegistered(User user) {
+        JournalEntryData entry = new JournalEntryData(Operation.REGISTER, user.getLogin());
+        entry.setPasswordHash(user.getPasswordHash());
+        append(entry);
+    }
+
+    @Override
+    public void onTransactionAdded(String login, Transaction transaction) {
+        append(transactionEntry(login, transaction));
+    }
+
+    @Override
+    public synchronized void onTransactionsImported(String login, List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            write(transactionEntry(login, transaction));
+        }
+        sync();
+    }
+
+    @Override
+    public void onTransactionsCleared(String login) {
+        append(new JournalEntryData(Operation.CLEAR, login));
+    }
+
+    @Override
+    public void onBudgetSet(String login, String category, double limit) {
+        append(budgetEntry(Operation.BUDGET_SET, login, category, limit));
+    }
+
+    @Override
+    public void onBudgetUpdated(String login, String category, double newLimit) {
+        append(budgetEntry(Operation.BUDGET_UPDATE, login, category, newLimit));
+    }
+
+    @Override
+    public void onBudgetRemoved(String login, String category) {
+        append(categoryEntry(Operation.BUDGET_REMOVE, login, category));
+    }
+
+    @Override
+    public void onCategoryAdded(String login, String category) {
+        append(categoryEntry(Operation.CATEGORY_ADD, login, category));
+    }
+
+    @Override
+    public void onCategoryRemoved(String login, String category) {
+        append(categoryEntry(Operation.CATEGORY_REMOVE, login, category));
+    }
+
+    @Override
+    public void onTransfer(String senderLogin, Transaction expense, String receiverLogin, Transaction income) {
+        JournalEntryData entry = transactionEntry(senderLogin, expense);
+        entry.setOperation(Operation.TRANSFER);
+        entry.setReceiverLogin(receiverLogin);
+        entry.setReceiverTransaction(new TransactionData(income));
+        append(entry);
+    }
+
+    private JournalEntryData transactionEntry(String login, Transaction transaction) {
+        JournalEntryData entry = new JournalEntryData(Operation.TRANSACTION, login);
+        entry.setTransaction(new TransactionData(transaction));
+        return entry;
+    }
+
+    private JournalEntryData budgetEntry(Operation operation, String login, String category, double limit) {
+        JournalEntryData entry = categoryEntry(operation, login, category);
+        entry.setLimit(limit);
+        return entry;
+    }
+
+    private JournalEntryData categoryEntry(Operation operation, String login, String category) {
+        JournalEntryData entry = new JournalEntryData(operation, login);
+        entry.setCategory(category);
+        return entry;
+    }
+
+    private synchronized void append(JournalEntryData entry) {
+        write(entry);
+        if (unsyncedEntries >= SYNC_BATCH_SIZE) {
+            sync();
+        }
+    }
+
+    private void write(JournalEntryData entry) {
+        try {
+            openJournal();
+            byte[] line = objectMapper.writeValueAsBytes(entry);
+            ByteBuffer buffer = ByteBuffer.allocate(line.length + 1);
+            buffer.put(line).put((byte) '\n').flip();
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            unsyncedEntries++;
+            entriesSinceSnapshot++;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка записи в журнал", e);
+        }
+    }
+
+    private void sync() {
+        try {
+            if (journal != null && unsyncedEntries > 0) {
+                journal.force(false);
+            }
+            unsyncedEntries = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка синхронизации журнала", e);
+        }
+    }
+
+    private synchronized void syncPending() {
+        if (unsyncedEntries > 0) {
+            sync();
+        }
+    }
+
+    private void compact(Map<String, User> users) {
+        try {
+            snapshotService.writeUsers(users, snapshotTmpPath);
+            try (FileChannel tmp = FileChannel.open(snapshotTmpPath, StandardOpenOption.WRITE)) {
+                tmp.force(true);
+            }
+
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            if (Files.exists(journalPath)) {
+                Files.move(journalPath, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(snapshotTmpPath, snapshotPath,
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(compactingPath);
+
+            entriesSinceSnapshot = 0;
+            unsyncedEntries = 0;
+            openJournal();
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сжатия журнала", e);
+        }
+    }
+
+    private void recoverInterruptedCompaction() throws IOException {
+        boolean hasTmpSnapshot = Files.exists(snapshotTmpPath);
+        if (!Files.exists(compactingPath)) {
+            Files.deleteIfExists(snapshotTmpPath);
+            return;
+        }
+        if (hasTmpSnapshot) {
+            Files.move(snapshotTmpPath, snapshotPath,
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.delete(compactingPath);
+    }
+
+    private long replay(Map<String, User> users) throws IOException {
+        entriesSinceSnapshot = 0;
+        if (!Files.exists(journalPath)) {
+            return 0;
+        }
+
+        long validBytes = 0;
+        int lineNumber = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(journalPath))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                lineNumber++;
+                JournalEntryData entry;
+                try {
+                    entry = objectMapper.readValue(line.toByteArray(), JournalEntryData.class);
+                } catch (IOException e) {
+                    throw new IOException("Повреждена запись журнала в строке " + lineNumber, e);
+                }
+                apply(users, entry);
+                validBytes += line.size() + 1;
+                entriesSinceSnapshot++;
+                line.reset();
+            }
+        }
+        // Недописанной считается только последняя строка без перевода строки — её отбрасываем.
+        return validBytes;
+    }
+
+    private void apply(Map<String, User> users, JournalEntryData entry) {
+        if (entry.getOperation() == Operation.REGISTER) {
+            UserData userData = new UserData();
+            userData.setLogin(entry.getLogin());
+            userData.setPasswordHash(entry.getPasswordHash());
+            users.put(entry.getLogin(), userData.toUser());
+            return;
+        }
+
+        Wallet wallet = walletOf(users, entry.getLogin());
+        switch (entry.getOperation()) {
+            case TRANSACTION -> wallet.addTransaction(entry.getTransaction().restoreToTransaction());
+            case CLEAR -> wallet.clearTransactions();
+            case BUDGET_SET -> wallet.setBudget(entry.getCategory(), entry.getLimit());
+            case BUDGET_UPDATE -> wallet.updateBudget(entry.getCategory(), entry.getLimit());
+            case BUDGET_REMOVE -> wallet.removeBudget(entry.getCategory());
+            case CATEGORY_ADD -> wallet.addCategory(entry.getCategory());
+            case CATEGORY_REMOVE -> wallet.removeCategory(entry.getCategory());
+            case TRANSFER -> {
+                wallet.addTransaction(entry.getTransaction().restoreToTransaction());
+                walletOf(users, entry.getReceiverLogin())
+                        .addTransaction(entry.getReceiverTransaction().restoreToTransaction());
+            }
+            default -> throw new IllegalStateException("Неизвестная операция журнала: " + entry.getOperation());
+        }
+    }
+
+    private Wallet walletOf(Map<String, User> users, String login) {
+        User user = users.get(login);
+        if (user == null) {
+            throw new IllegalStateException("Журнал ссылается на неизвестного пользователя: " + login);
+        }
+        return user.getWallet();
+    }
+
+    private void openJournal() throws IOException {
+        if (journal == null) {
+            journal = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        if (syncScheduler == null) {
+            syncScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncScheduler.scheduleWithFixedDelay(this::syncPending,
+                    SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
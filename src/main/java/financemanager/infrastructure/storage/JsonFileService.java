@@ -1,32 +1,44 @@
 package financemanager.infrastructure.storage;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import financemanager.core.model.User;
-import financemanager.core.model.Wallet;
-import financemanager.core.model.Transaction;
-import financemanager.core.model.Budget;
-import financemanager.infrastructure.json_models.UserData;
 
 import java.io.*;
 import java.nio.file.*;
-import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class JsonFileService implements StorageService {
-    private static final String DATA_DIR = "data/";
-    private static final String USERS_FILE = "users.json";
+    static final String DATA_DIR = "data/";
+    static final String USERS_FILE = "users.json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final String dataDir;
+    private final boolean compact;
     private final ObjectMapper objectMapper;
+    private final JsonStreamCodec codec;
 
     public JsonFileService() {
+        this(DATA_DIR);
+    }
+
+    public JsonFileService(String dataDir) {
+        this(dataDir, false);
+    }
+
+    public JsonFileService(String dataDir, boolean compact) {
+        this.dataDir = dataDir;
+        this.compact = compact;
         this.objectMapper = new ObjectMapper();
+        this.codec = new JsonStreamCodec();
         objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.enable(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT);
+        if (!compact) {
+            objectMapper.enable(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT);
+        }
 
         try {
-            Files.createDirectories(Paths.get(DATA_DIR));
+            Files.createDirectories(Paths.get(dataDir));
         } catch (IOException e) {
             throw new RuntimeException("Не удалось создать директорию для данных", e);
         }
@@ -34,38 +46,35 @@ public class JsonFileService implements StorageService {
 
     @Override
     public void saveUsers(Map<String, User> users) {
-        try {
-            String filePath = DATA_DIR + USERS_FILE;
-            List<UserData> userDataList = new ArrayList<>();
+        writeUsers(users, Paths.get(dataDir, USERS_FILE));
+    }
 
-            for (User user : users.values()) {
-                userDataList.add(new UserData(user));
-            }
+    @Override
+    public Map<String, User> loadUsers() {
+        return readUsers(Paths.get(dataDir, USERS_FILE));
+    }
 
-            objectMapper.writeValue(new File(filePath), userDataList);
+    void writeUsers(Map<String, User> users, Path target) {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (!compact) {
+                generator.useDefaultPrettyPrinter();
+            }
+            codec.writeUsers(generator, users.values());
         } catch (IOException e) {
             throw new RuntimeException("Ошибка сохранения пользователей", e);
         }
     }
 
-    @Override
-    public Map<String, User> loadUsers() {
-        File file = new File(DATA_DIR + USERS_FILE);
+    Map<String, User> readUsers(Path source) {
+        File file = source.toFile();
         if (!file.exists()) {
             return new HashMap<>();
         }
 
-        try {
-            List<UserData> userDataList = objectMapper.readValue(file,
-                    new TypeReference<List<UserData>>() {});
-
-            Map<String, User> users = new HashMap<>();
-            for (UserData userData : userDataList) {
-                User user = userData.toUser();
-                users.put(user.getLogin(), user);
-            }
-
-            return users;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return codec.readUsers(parser);
         } catch (IOException e) {
             throw new RuntimeException("Ошибка загрузки пользователей", e);
         }
@@ -74,16 +83,20 @@ public class JsonFileService implements StorageService {
     @Override
     public void saveUserData(String userId, Object data) {
         try {
-            String filePath = DATA_DIR + userId + "_data.json";
+            String filePath = dataDir + userId + "_data.json";
             objectMapper.writeValue(new File(filePath), data);
         } catch (IOException e) {
             throw new RuntimeException("Ошибка сохранения данных пользователя", e);
         }
     }
 
+    boolean hasUserData(String userId) {
+        return new File(dataDir + userId + "_data.json").exists();
+    }
+
     @Override
     public <T> T loadUserData(String userId, Class<T> type) {
-        File file = new File(DATA_DIR + userId + "_data.json");
+        File file = new File(dataDir + userId + "_data.json");
         if (!file.exists()) {
             return null;
         }
@@ -0,0 +1,207 @@
+package financemanager.infrastructure.storage;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import financemanager.core.model.Budget;
+import financemanager.core.model.Money;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+
+class JsonStreamCodec {
+
+    void writeUsers(JsonGenerator generator, Collection<User> users) throws IOException {
+        generator.writeStartArray();
+        for (User user : users) {
+            generator.writeStartObject();
+            generator.writeStringField("login", user.getLogin());
+            generator.writeStringField("passwordHash", user.getPasswordHash());
+            generator.writeFieldName("wallet");
+            writeWallet(generator, user.getWallet());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    void writeWallet(JsonGenerator generator, Wallet wallet) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("userId", wallet.getUserId());
+        generator.writeNumberField("balance", wallet.getBalance());
+
+        generator.writeArrayFieldStart("transactions");
+        for (Transaction transaction : wallet.getTransactions()) {
+            writeTransaction(generator, transaction);
+        }
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("budgets");
+        for (Budget budget : wallet.getBudgets().values()) {
+            generator.writeObjectFieldStart(budget.getCategory());
+            generator.writeStringField("category", budget.getCategory());
+            writeAmountField(generator, "limit", budget.getLimitMinor());
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("categories");
+        for (String category : wallet.getCategories()) {
+            generator.writeString(category);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeTransaction(JsonGenerator generator, Transaction transaction) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", transaction.getId());
+        generator.writeStringField("category", transaction.getCategory());
+        writeAmountField(generator, "amount", transaction.getAmountMinor());
+        generator.writeStringField("type", transaction.getType().name());
+        generator.writeStringField("description", transaction.getDescription());
+        if (transaction.getDate() != null) {
+            LocalDate date = transaction.getDate();
+            generator.writeArrayFieldStart("date");
+            generator.writeNumber(date.getYear());
+            generator.writeNumber(date.getMonthValue());
+            generator.writeNumber(date.getDayOfMonth());
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    Map<String, User> readUsers(JsonParser parser) throws IOException {
+        Map<String, User> users = new HashMap<>();
+        expect(parser.nextToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            User user = readUser(parser);
+            users.put(user.getLogin(), user);
+        }
+        return users;
+    }
+
+    private void writeAmountField(JsonGenerator generator, String name, long amountMinor) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(Money.toString(amountMinor));
+    }
+
+    private User readUser(JsonParser parser) throws IOException {
+        String login = null;
+        String passwordHash = null;
+        Wallet wallet = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "login" -> login = parser.getValueAsString();
+                case "passwordHash" -> passwordHash = parser.getValueAsString();
+                case "wallet" -> wallet = value == JsonToken.START_OBJECT ? readWallet(parser, login) : null;
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (login == null || passwordHash == null) {
+            throw new IOException("Запись пользователя без логина или хэша пароля");
+        }
+        return User.restore(login, passwordHash, wallet != null ? wallet : new Wallet(login));
+    }
+
+    Wallet readWallet(JsonParser parser, String owner) throws IOException {
+        WalletRestorer restorer = new WalletRestorer(owner);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "transactions" -> {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        restorer.addTransaction(readTransaction(parser));
+                    }
+                }
+                case "budgets" -> {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        parser.nextToken();
+                        restorer.addBudget(readBudget(parser));
+                    }
+                }
+                case "categories" -> {
+                    while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        restorer.addCategory(parser.getText());
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return restorer.finish();
+    }
+
+    private Budget readBudget(JsonParser parser) throws IOException {
+        String category = null;
+        long limit = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "category" -> category = parser.getValueAsString();
+                case "limit" -> limit = Money.parse(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return Budget.ofMinor(category, limit);
+    }
+
+    private Transaction readTransaction(JsonParser parser) throws IOException {
+        String id = null;
+        String category = null;
+        long amount = 0;
+        Transaction.Type type = null;
+        String description = null;
+        LocalDate date = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "category" -> category = parser.getValueAsString();
+                case "amount" -> amount = Money.parse(parser.getText());
+                case "type" -> type = value == JsonToken.VALUE_NULL ? null : Transaction.Type.valueOf(parser.getText());
+                case "description" -> description = parser.getValueAsString();
+                case "date" -> date = readDate(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return Transaction.ofMinor(id, category, amount, type, date, description);
+    }
+
+    private LocalDate readDate(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return LocalDate.parse(parser.getText());
+        }
+        if (value != JsonToken.START_ARRAY) {
+            return null;
+        }
+        parser.nextToken();
+        int year = parser.getIntValue();
+        parser.nextToken();
+        int month = parser.getIntValue();
+        parser.nextToken();
+        int day = parser.getIntValue();
+        expect(parser.nextToken(), JsonToken.END_ARRAY);
+        return LocalDate.of(year, month, day);
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Ожидался " + expected + ", получен " + actual);
+        }
+    }
+}
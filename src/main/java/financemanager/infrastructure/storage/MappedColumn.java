@@ -0,0 +1,77 @@
+package financemanager.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class MappedColumn implements AutoCloseable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private final int width;
+    private MappedByteBuffer buffer;
+    private int capacity;
+
+    MappedColumn(Path file, int width, int requiredRows) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.width = width;
+        int existingRows = (int) (channel.size() / width);
+        map(Math.max(INITIAL_CAPACITY, Math.max(existingRows, requiredRows)));
+    }
+
+    void ensureCapacity(int rows) throws IOException {
+        if (rows > capacity) {
+            map(Math.max(rows, capacity * 2));
+        }
+    }
+
+    int getInt(int row) {
+        return buffer.getInt(row * width);
+    }
+
+    void putInt(int row, int value) {
+        buffer.putInt(row * width, value);
+    }
+
+    byte getByte(int row) {
+        return buffer.get(row * width);
+    }
+
+    void putByte(int row, byte value) {
+        buffer.put(row * width, value);
+    }
+
+    long getLong(int row, int slot) {
+        return buffer.getLong(row * width + slot * Long.BYTES);
+    }
+
+    void putLong(int row, int slot, long value) {
+        buffer.putLong(row * width + slot * Long.BYTES, value);
+    }
+
+    int getIntAt(int row, int byteOffset) {
+        return buffer.getInt(row * width + byteOffset);
+    }
+
+    void putIntAt(int row, int byteOffset, int value) {
+        buffer.putInt(row * width + byteOffset, value);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void map(int rows) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) rows * width);
+        capacity = rows;
+    }
+}
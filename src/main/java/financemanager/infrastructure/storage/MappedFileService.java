@@ -0,0 +1,161 @@
+package financemanager.infrastructure.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionStore;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+import financemanager.infrastructure.json_models.BudgetData;
+import financemanager.infrastructure.json_models.UserData;
+import financemanager.infrastructure.json_models.WalletData;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class MappedFileService implements StorageService {
+    private static final String USERS_FILE = "mapped_users.json";
+    private static final String COLUMNS_DIR = "columns";
+
+    private final JsonFileService userDataService;
+    private final ObjectMapper objectMapper;
+    private final Path usersPath;
+    private final Path legacyPath;
+    private final Path columnsDir;
+    private final Map<String, MappedTransactionStore> openStores;
+
+    public MappedFileService() {
+        this(JsonFileService.DATA_DIR);
+    }
+
+    public MappedFileService(String dataDir) {
+        this.userDataService = new JsonFileService(dataDir);
+        this.objectMapper = new ObjectMapper();
+        this.usersPath = Paths.get(dataDir, USERS_FILE);
+        this.legacyPath = Paths.get(dataDir, JsonFileService.USERS_FILE);
+        this.columnsDir = Paths.get(dataDir, COLUMNS_DIR);
+        this.openStores = new HashMap<>();
+    }
+
+    @Override
+    public synchronized void saveUsers(Map<String, User> users) {
+        List<UserData> metadata = new ArrayList<>();
+        for (User user : users.values()) {
+            Wallet wallet = user.getWallet();
+            if (wallet.getTransactionStore() instanceof MappedTransactionStore store) {
+                store.flush();
+            } else {
+                copyToColumns(user.getLogin(), wallet);
+            }
+            metadata.add(metadataOf(user));
+        }
+
+        try {
+            Path tmpPath = usersPath.resolveSibling(USERS_FILE + ".tmp");
+            objectMapper.writeValue(tmpPath.toFile(), metadata);
+            Files.move(tmpPath, usersPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сохранения пользователей", e);
+        }
+    }
+
+    @Override
+    public synchronized Map<String, User> loadUsers() {
+        if (!Files.exists(usersPath)) {
+            Map<String, User> users = userDataService.readUsers(legacyPath);
+            users.replaceAll((login, user) ->
+                    User.restore(login, user.getPasswordHash(), moveToColumns(login, user.getWallet())));
+            return users;
+        }
+
+        try {
+            List<UserData> metadata = objectMapper.readValue(usersPath.toFile(),
+                    new TypeReference<List<UserData>>() {});
+
+            Map<String, User> users = new HashMap<>();
+            for (UserData userData : metadata) {
+                String login = userData.getLogin();
+                Wallet wallet = userData.getWallet() != null
+                        ? userData.getWallet().toWallet(login, openStore(login))
+                        : Wallet.restore(login, openStore(login), List.of(), Set.of(), List.of());
+                users.put(login, User.restore(login, userData.getPasswordHash(), wallet));
+            }
+            return users;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка загрузки пользователей", e);
+        }
+    }
+
+    @Override
+    public synchronized TransactionStore createTransactionStore(String login) {
+        if (openStores.containsKey(login)) {
+            // Логин уже занят, FinanceService всё равно отклонит эту регистрацию.
+            return new CompactTransactionStore();
+        }
+        MappedTransactionStore store = openStore(login);
+        store.clear();
+        return store;
+    }
+
+    @Override
+    public void saveUserData(String userId, Object data) {
+        userDataService.saveUserData(userId, data);
+    }
+
+    @Override
+    public <T> T loadUserData(String userId, Class<T> type) {
+        return userDataService.loadUserData(userId, type);
+    }
+
+    @Override
+    public synchronized void close() {
+        openStores.values().forEach(MappedTransactionStore::close);
+        openStores.clear();
+    }
+
+    private void copyToColumns(String login, Wallet wallet) {
+        MappedTransactionStore store = openStore(login);
+        store.clear();
+        for (Transaction transaction : wallet.getTransactions()) {
+            store.add(transaction);
+        }
+        store.flush();
+    }
+
+    private Wallet moveToColumns(String login, Wallet wallet) {
+        MappedTransactionStore store = openStore(login);
+        store.clear();
+        store.addAll(wallet.getTransactions());
+        return Wallet.restore(login, store, wallet.getBudgets().values(), wallet.getCategories(), List.of());
+    }
+
+    private MappedTransactionStore openStore(String login) {
+        return openStores.computeIfAbsent(login, l -> {
+            try {
+                return new MappedTransactionStore(columnsDir.resolve(l));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка открытия колоночного хранилища", e);
+            }
+        });
+    }
+
+    private UserData metadataOf(User user) {
+        Wallet wallet = user.getWallet();
+        WalletData walletData = new WalletData();
+        walletData.setUserId(wallet.getUserId());
+        walletData.setBalance(wallet.getBalance());
+        walletData.setTransactions(Collections.emptyList());
+        Map<String, BudgetData> budgets = new HashMap<>();
+        wallet.getBudgets().forEach((category, budget) -> budgets.put(category, new BudgetData(budget)));
+        walletData.setBudgets(budgets);
+        walletData.setCategories(new HashSet<>(wallet.getCategories()));
+
+        UserData userData = new UserData();
+        userData.setLogin(user.getLogin());
+        userData.setPasswordHash(user.getPasswordHash());
+        userData.setWallet(walletData);
+        return userData;
+    }
+}
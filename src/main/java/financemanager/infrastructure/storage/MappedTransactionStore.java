@@ -0,0 +1,422 @@
+package financemanager.infrastructure.storage;
+
+import financemanager.core.model.CategoryDictionary;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionStore;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+public class MappedTransactionStore implements TransactionStore, Closeable {
+    private static final int MAGIC = 0x464D4331;
+    private static final int VERSION = 1;
+    private static final int META_MAGIC = 0;
+    private static final int META_VERSION = 1;
+    private static final int META_ROWS = 2;
+    private static final int META_SORTED = 3;
+    private static final int META_SLOTS = 4;
+    private static final int ID_WIDTH = 2 * Long.BYTES;
+    private static final int TEXT_WIDTH = Long.BYTES + Integer.BYTES;
+    private static final byte FLAG_EXPENSE = 1;
+    private static final byte FLAG_TEXT_ID = 2;
+    private static final byte FLAG_NO_ID = 4;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int ROW_BITS = 32;
+    private static final int INITIAL_MATCHES = 64;
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+
+    private final MappedColumn meta;
+    private final MappedColumn days;
+    private final MappedColumn flags;
+    private final MappedColumn categoryIds;
+    private final MappedColumn amounts;
+    private final MappedColumn ids;
+    private final MappedColumn texts;
+    private final FileChannel textData;
+    private final Path directory;
+    private final Path dictionaryPath;
+    private final CategoryDictionary dictionary;
+    private final List<MappedColumn> rowsByCategory;
+    private int size;
+    private boolean sortedByDate;
+
+    public MappedTransactionStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.meta = new MappedColumn(directory.resolve("meta.col"), Integer.BYTES * META_SLOTS, 1);
+        if (meta.getIntAt(0, META_MAGIC * Integer.BYTES) != MAGIC) {
+            meta.putIntAt(0, META_MAGIC * Integer.BYTES, MAGIC);
+            meta.putIntAt(0, META_VERSION * Integer.BYTES, VERSION);
+            meta.putIntAt(0, META_ROWS * Integer.BYTES, 0);
+            meta.putIntAt(0, META_SORTED * Integer.BYTES, 1);
+        }
+        if (meta.getIntAt(0, META_VERSION * Integer.BYTES) != VERSION) {
+            throw new IOException("Неподдерживаемая версия колоночного хранилища");
+        }
+        this.size = meta.getIntAt(0, META_ROWS * Integer.BYTES);
+        this.sortedByDate = meta.getIntAt(0, META_SORTED * Integer.BYTES) != 0;
+
+        this.days = new MappedColumn(directory.resolve("day.col"), Integer.BYTES, size);
+        this.flags = new MappedColumn(directory.resolve("flags.col"), Byte.BYTES, size);
+        this.categoryIds = new MappedColumn(directory.resolve("category.col"), Integer.BYTES, size);
+        this.amounts = new MappedColumn(directory.resolve("amount.col"), Long.BYTES, size);
+        this.ids = new MappedColumn(directory.resolve("id.col"), ID_WIDTH, size);
+        this.texts = new MappedColumn(directory.resolve("text.col"), TEXT_WIDTH, size);
+        this.textData = FileChannel.open(directory.resolve("text.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        this.directory = directory;
+        this.dictionaryPath = directory.resolve("categories.dict");
+        this.dictionary = new CategoryDictionary();
+        this.rowsByCategory = new ArrayList<>();
+        if (Files.exists(dictionaryPath)) {
+            for (String category : Files.readAllLines(dictionaryPath, StandardCharsets.UTF_8)) {
+                rowsByCategory.add(openCategoryRows(dictionary.intern(category)));
+            }
+        }
+        if (indexedRows() != size) {
+            reindexCategories();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(Transaction transaction) {
+        try {
+            int row = size;
+            ensureCapacity(row + 1);
+
+            int day = transaction.getDate() != null ? (int) transaction.getDate().toEpochDay() : NO_DATE;
+            byte rowFlags = transaction.isExpense() ? FLAG_EXPENSE : 0;
+            UUID uuid = parseUuid(transaction.getId());
+            if (transaction.getId() == null) {
+                rowFlags |= FLAG_NO_ID;
+            } else if (uuid != null) {
+                ids.putLong(row, 0, uuid.getMostSignificantBits());
+                ids.putLong(row, 1, uuid.getLeastSignificantBits());
+            } else {
+                rowFlags |= FLAG_TEXT_ID;
+                byte[] id = transaction.getId().getBytes(StandardCharsets.UTF_8);
+                ids.putLong(row, 0, appendText(id));
+                ids.putLong(row, 1, id.length);
+            }
+
+            byte[] description = transaction.getDescription().getBytes(StandardCharsets.UTF_8);
+            texts.putLong(row, 0, appendText(description));
+            texts.putIntAt(row, Long.BYTES, description.length);
+
+            days.putInt(row, day);
+            flags.putByte(row, rowFlags);
+            int categoryId = categoryId(transaction.getCategory());
+            categoryIds.putInt(row, categoryId);
+            appendCategoryRow(categoryId, row);
+            amounts.putLong(row, 0, transaction.getAmountMinor());
+
+            if (row > 0 && day < days.getInt(row - 1)) {
+                sortedByDate = false;
+                meta.putIntAt(0, META_SORTED * Integer.BYTES, 0);
+            }
+            size = row + 1;
+            meta.putIntAt(0, META_ROWS * Integer.BYTES, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка записи в колоночное хранилище", e);
+        }
+    }
+
+    @Override
+    public Transaction get(int row) {
+        checkRow(row);
+        byte rowFlags = flags.getByte(row);
+        int day = days.getInt(row);
+        return Transaction.ofMinor(id(row), category(row), amounts.getLong(row, 0),
+                (rowFlags & FLAG_EXPENSE) != 0 ? Transaction.Type.EXPENSE : Transaction.Type.INCOME,
+                day != NO_DATE ? LocalDate.ofEpochDay(day) : null,
+                readText(texts.getLong(row, 0), texts.getIntAt(row, Long.BYTES)));
+    }
+
+    @Override
+    public void clear() {
+        try {
+            size = 0;
+            sortedByDate = true;
+            meta.putIntAt(0, META_ROWS * Integer.BYTES, 0);
+            meta.putIntAt(0, META_SORTED * Integer.BYTES, 1);
+            rowsByCategory.forEach(rows -> rows.putInt(0, 0));
+            textData.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка очистки колоночного хранилища", e);
+        }
+    }
+
+    @Override
+    public String id(int row) {
+        checkRow(row);
+        byte rowFlags = flags.getByte(row);
+        if ((rowFlags & FLAG_NO_ID) != 0) {
+            return null;
+        }
+        if ((rowFlags & FLAG_TEXT_ID) != 0) {
+            return readText(ids.getLong(row, 0), (int) ids.getLong(row, 1));
+        }
+        return new UUID(ids.getLong(row, 0), ids.getLong(row, 1)).toString();
+    }
+
+    @Override
+    public long epochDay(int row) {
+        checkRow(row);
+        int day = days.getInt(row);
+        return day != NO_DATE ? day : Long.MIN_VALUE;
+    }
+
+    @Override
+    public boolean isExpense(int row) {
+        checkRow(row);
+        return (flags.getByte(row) & FLAG_EXPENSE) != 0;
+    }
+
+    @Override
+    public CategoryDictionary categoryDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public int categoryId(int row) {
+        checkRow(row);
+        return categoryIds.getInt(row);
+    }
+
+    @Override
+    public long amountMinor(int row) {
+        checkRow(row);
+        return amounts.getLong(row, 0);
+    }
+
+    @Override
+    public void forEachInPeriod(long startDay, long endDay, RowVisitor visitor) {
+        // Строки без даты хранят NO_DATE ниже суженного диапазона, поэтому оба пути их пропускают.
+        int from = (int) Math.max(startDay, NO_DATE + 1L);
+        int to = (int) Math.min(endDay, Integer.MAX_VALUE);
+        if (from > to) {
+            return;
+        }
+        if (sortedByDate) {
+            for (int row = lowerBound(from); row < size && days.getInt(row) <= to; row++) {
+                visitor.visit(row);
+            }
+            return;
+        }
+
+        long[] matches = new long[INITIAL_MATCHES];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int day = days.getInt(row);
+            if (day >= from && day <= to) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ((long) day << ROW_BITS) | row;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        for (int i = 0; i < count; i++) {
+            visitor.visit((int) (matches[i] & ROW_MASK));
+        }
+    }
+
+    @Override
+    public void forEachInCategory(String category, int fromRow, int toRow, RowVisitor visitor) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return;
+        }
+        MappedColumn rows = rowsByCategory.get(categoryId);
+        int count = rows.getInt(0);
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows.getInt(mid + 1) < fromRow) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < count && rows.getInt(i + 1) < toRow; i++) {
+            visitor.visit(rows.getInt(i + 1));
+        }
+    }
+
+    @Override
+    public List<Transaction> getByCategory(String category) {
+        int categoryId = dictionary.find(category);
+        if (categoryId == CategoryDictionary.UNKNOWN) {
+            return Collections.emptyList();
+        }
+        MappedColumn rows = rowsByCategory.get(categoryId);
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                Objects.checkIndex(index, size());
+                return MappedTransactionStore.this.get(rows.getInt(index + 1));
+            }
+
+            @Override
+            public int size() {
+                return rows.getInt(0);
+            }
+        };
+    }
+
+    @Override
+    public void flush() {
+        try {
+            days.force();
+            flags.force();
+            categoryIds.force();
+            amounts.force();
+            ids.force();
+            texts.force();
+            rowsByCategory.forEach(MappedColumn::force);
+            textData.force(false);
+            meta.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка сброса колоночного хранилища", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+            days.close();
+            flags.close();
+            categoryIds.close();
+            amounts.close();
+            ids.close();
+            texts.close();
+            for (MappedColumn rows : rowsByCategory) {
+                rows.close();
+            }
+            textData.close();
+            meta.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка закрытия колоночного хранилища", e);
+        }
+    }
+
+    private int lowerBound(int startDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days.getInt(mid) < startDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int rows) throws IOException {
+        days.ensureCapacity(rows);
+        flags.ensureCapacity(rows);
+        categoryIds.ensureCapacity(rows);
+        amounts.ensureCapacity(rows);
+        ids.ensureCapacity(rows);
+        texts.ensureCapacity(rows);
+    }
+
+    private int categoryId(String category) throws IOException {
+        int id = dictionary.find(category);
+        if (id != CategoryDictionary.UNKNOWN) {
+            return id;
+        }
+        Files.writeString(dictionaryPath, category + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        int categoryId = dictionary.intern(category);
+        rowsByCategory.add(openCategoryRows(categoryId));
+        return categoryId;
+    }
+
+    // Номера строк каждой категории лежат в отдельной колонке: в ячейке 0 хранится их количество.
+    private MappedColumn openCategoryRows(int categoryId) throws IOException {
+        return new MappedColumn(directory.resolve("category-" + categoryId + ".rows"), Integer.BYTES, 1);
+    }
+
+    private void appendCategoryRow(int categoryId, int row) throws IOException {
+        MappedColumn rows = rowsByCategory.get(categoryId);
+        int count = rows.getInt(0);
+        rows.ensureCapacity(count + 2);
+        rows.putInt(count + 1, row);
+        rows.putInt(0, count + 1);
+    }
+
+    private long indexedRows() {
+        long total = 0;
+        for (MappedColumn rows : rowsByCategory) {
+            total += rows.getInt(0);
+        }
+        return total;
+    }
+
+    private void reindexCategories() throws IOException {
+        rowsByCategory.forEach(rows -> rows.putInt(0, 0));
+        for (int row = 0; row < size; row++) {
+            appendCategoryRow(categoryIds.getInt(row), row);
+        }
+    }
+
+    private long appendText(byte[] bytes) throws IOException {
+        long offset = textData.size();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += textData.write(buffer, position);
+        }
+        return offset;
+    }
+
+    private String readText(long offset, int length) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = textData.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Неожиданный конец текстовых данных");
+                }
+                position += read;
+            }
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка чтения колоночного хранилища", e);
+        }
+    }
+
+    private UUID parseUuid(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Строка " + row + " вне диапазона 0.." + size);
+        }
+    }
+}
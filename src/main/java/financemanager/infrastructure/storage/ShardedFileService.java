@@ -0,0 +1,176 @@
+package financemanager.infrastructure.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+import financemanager.core.service.FinanceEventListener;
+import financemanager.infrastructure.json_models.UserData;
+import financemanager.infrastructure.json_models.WalletData;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class ShardedFileService implements StorageService, FinanceEventListener {
+    private static final String INDEX_FILE = "users_index.json";
+
+    private final JsonFileService shardService;
+    private final ObjectMapper objectMapper;
+    private final Path indexPath;
+    private final Path legacyPath;
+    private final Set<String> dirtyWallets;
+    private boolean indexDirty;
+
+    public ShardedFileService() {
+        this(JsonFileService.DATA_DIR);
+    }
+
+    public ShardedFileService(String dataDir) {
+        this.shardService = new JsonFileService(dataDir);
+        this.objectMapper = new ObjectMapper();
+        this.indexPath = Paths.get(dataDir, INDEX_FILE);
+        this.legacyPath = Paths.get(dataDir, JsonFileService.USERS_FILE);
+        this.dirtyWallets = new HashSet<>();
+    }
+
+    @Override
+    public synchronized void saveUsers(Map<String, User> users) {
+        if (indexDirty || !Files.exists(indexPath)) {
+            writeIndex(users);
+        }
+
+        for (User user : users.values()) {
+            String login = user.getLogin();
+            // Шард без файла пишется всегда: карта могла прийти не через слушатель этого сервиса.
+            boolean changed = dirtyWallets.contains(login) || !shardService.hasUserData(login);
+            if (changed && user.isWalletLoaded()) {
+                saveUserData(login, new WalletData(user.getWallet()));
+            }
+        }
+        dirtyWallets.clear();
+    }
+
+    @Override
+    public synchronized void saveAllUsers(Map<String, User> users) {
+        indexDirty = true;
+        dirtyWallets.addAll(users.keySet());
+        saveUsers(users);
+    }
+
+    @Override
+    public synchronized Map<String, User> loadUsers() {
+        if (!Files.exists(indexPath)) {
+            return migrateLegacyFile();
+        }
+
+        try {
+            List<UserData> index = objectMapper.readValue(indexPath.toFile(),
+                    new TypeReference<List<UserData>>() {});
+
+            Map<String, User> users = new HashMap<>();
+            for (UserData entry : index) {
+                users.put(entry.getLogin(),
+                        User.withLazyWallet(entry.getLogin(), entry.getPasswordHash(), this::loadWallet));
+            }
+            return users;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка загрузки индекса пользователей", e);
+        }
+    }
+
+    @Override
+    public void saveUserData(String userId, Object data) {
+        shardService.saveUserData(userId, data);
+    }
+
+    @Override
+    public <T> T loadUserData(String userId, Class<T> type) {
+        return shardService.loadUserData(userId, type);
+    }
+
+    @Override
+    public synchronized void onUserRegistered(User user) {
+        indexDirty = true;
+        dirtyWallets.add(user.getLogin());
+    }
+
+    @Override
+    public void onTransactionAdded(String login, Transaction transaction) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onTransactionsImported(String login, List<Transaction> transactions) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onTransactionsCleared(String login) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onBudgetSet(String login, String category, double limit) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onBudgetUpdated(String login, String category, double newLimit) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onBudgetRemoved(String login, String category) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onCategoryAdded(String login, String category) {
+        markDirty(login);
+    }
+
+    @Override
+    public void onCategoryRemoved(String login, String category) {
+        markDirty(login);
+    }
+
+    @Override
+    public synchronized void onTransfer(String senderLogin, Transaction expense,
+                                        String receiverLogin, Transaction income) {
+        dirtyWallets.add(senderLogin);
+        dirtyWallets.add(receiverLogin);
+    }
+
+    private synchronized void markDirty(String login) {
+        dirtyWallets.add(login);
+    }
+
+    private Wallet loadWallet(String login) {
+        WalletData walletData = loadUserData(login, WalletData.class);
+        return walletData != null ? walletData.toWallet(login) : new Wallet(login);
+    }
+
+    private Map<String, User> migrateLegacyFile() {
+        Map<String, User> users = shardService.readUsers(legacyPath);
+        if (!users.isEmpty()) {
+            indexDirty = true;
+            dirtyWallets.addAll(users.keySet());
+        }
+        return users;
+    }
+
+    private void writeIndex(Map<String, User> users) {
+        try {
+            List<Map<String, String>> index = new ArrayList<>();
+            for (User user : users.values()) {
+                index.add(Map.of("login", user.getLogin(), "passwordHash", user.getPasswordHash()));
+            }
+            objectMapper.writeValue(indexPath.toFile(), index);
+            indexDirty = false;
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка сохранения индекса пользователей", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package financemanager.infrastructure.storage;
 
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.TransactionStore;
 import financemanager.core.model.User;
 import java.util.Map;
 
@@ -7,6 +9,12 @@ public interface StorageService {
     void saveUsers(Map<String, User> users);
     Map<String, User> loadUsers();
 
+    default void saveAllUsers(Map<String, User> users) { saveUsers(users); }
+
     void saveUserData(String userId, Object data);
     <T> T loadUserData(String userId, Class<T> type);
+
+    default TransactionStore createTransactionStore(String login) { return new CompactTransactionStore(); }
+
+    default void close() {}
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package financemanager.infrastructure.storage;
+
+import financemanager.core.model.User;
+import java.util.Map;
+
+public class StorageServiceFactory {
+    public static final String DEFAULT_MODE = "journal";
+
+    public static StorageService create(String mode) {
+        return create(mode, JsonFileService.DATA_DIR);
+    }
+
+    public static StorageService create(String mode, String dataDir) {
+        return switch (mode.trim().toLowerCase()) {
+            case "json" -> new JsonFileService(dataDir);
+            case "json-compact" -> new JsonFileService(dataDir, true);
+            case "journal" -> new JournalFileService(dataDir);
+            case "sharded" -> new ShardedFileService(dataDir);
+            case "binary" -> new BinaryFileService(dataDir);
+            case "mapped" -> new MappedFileService(dataDir);
+            default -> throw new IllegalArgumentException("Неизвестный режим хранения: " + mode);
+        };
+    }
+
+    public static int convert(String sourceMode, String targetMode) {
+        return convert(sourceMode, targetMode, JsonFileService.DATA_DIR);
+    }
+
+    public static int convert(String sourceMode, String targetMode, String dataDir) {
+        StorageService source = create(sourceMode, dataDir);
+        StorageService target = create(targetMode, dataDir);
+        Map<String, User> users = source.loadUsers();
+        target.saveAllUsers(users);
+        source.close();
+        target.close();
+        return users.size();
+    }
+}
@@ -0,0 +1,51 @@
+package financemanager.infrastructure.storage;
+
+import financemanager.core.model.Budget;
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.Wallet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class WalletRestorer {
+    static final int BATCH_SIZE = 10_000;
+
+    private final Wallet wallet;
+    private final List<Transaction> batch;
+    private final List<Budget> budgets;
+
+    WalletRestorer(String owner) {
+        this.wallet = new Wallet(owner, new CompactTransactionStore());
+        this.batch = new ArrayList<>(BATCH_SIZE);
+        this.budgets = new ArrayList<>();
+    }
+
+    void addTransaction(Transaction transaction) {
+        batch.add(transaction);
+        if (batch.size() == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    void addCategory(String category) {
+        wallet.addCategory(category);
+    }
+
+    void addBudget(Budget budget) {
+        budgets.add(budget);
+    }
+
+    Wallet finish() {
+        flush();
+        wallet.restoreBudgets(budgets);
+        return wallet;
+    }
+
+    private void flush() {
+        if (!batch.isEmpty()) {
+            wallet.addTransactions(batch);
+            batch.clear();
+        }
+    }
+}
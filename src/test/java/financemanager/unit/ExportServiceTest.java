@@ -0,0 +1,274 @@
+package financemanager.unit;
+
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionFilter;
+import financemanager.core.model.Wallet;
+import financemanager.infrastructure.export.ColumnarExportService;
+import financemanager.infrastructure.export.CompressionFormat;
+import financemanager.infrastructure.export.CsvExportService;
+import financemanager.infrastructure.export.ExportCursorStore;
+import financemanager.infrastructure.export.ExportService;
+import financemanager.infrastructure.export.ImportReport;
+import financemanager.infrastructure.export.JsonExportService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportServiceTest {
+    @TempDir
+    Path dataDir;
+
+    private String dir() {
+        return dataDir.toString();
+    }
+
+    private Path writeCsv(int rows) throws Exception {
+        StringBuilder csv = new StringBuilder("ID,Дата,Категория,Тип,Сумма,Описание\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("id-").append(i).append(",2024-01-").append(String.format("%02d", i % 28 + 1))
+                    .append(",Food,Расход,").append(i + 1).append(",\"Row ").append(i).append(",\nmultiline\"\n");
+        }
+        csv.append("bad-1,not-a-date,Food,Расход,10,Broken\n");
+        csv.append("bad-2,2024-02-01,Food,Unknown,10,Broken\n");
+        Path file = dataDir.resolve("import.csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    @Test
+    void testStreamingCsvImportAppliesChunksAndReportsErrors() throws Exception {
+        Path file = writeCsv(25);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Transaction> imported = new ArrayList<>();
+        ImportReport report = new CsvExportService().importTransactions(file.toString(), chunk -> {
+            chunkSizes.add(chunk.size());
+            imported.addAll(chunk);
+        }, 10);
+
+        assertEquals(List.of(10, 10, 5), chunkSizes);
+        assertEquals(25, report.getImportedCount());
+        assertEquals(2, report.getFailedCount());
+        assertEquals(2, report.getErrorSamples().size());
+        assertTrue(report.getErrorSamples().get(1).contains("Unknown"));
+        assertEquals("id-24", imported.get(24).getId());
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> new CsvExportService().importTransactions(file.toString()));
+        assertTrue(error.getMessage().contains("2"));
+    }
+
+    @Test
+    void testJsonImportStreamsBoundedChunks() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            transactions.add(new Transaction("id-" + i, "Food", i + 1, Transaction.Type.EXPENSE,
+                    LocalDate.of(2024, 1, 1), "Row " + i));
+        }
+        JsonExportService service = new JsonExportService(CompressionFormat.GZIP, dir());
+        String file = service.exportTransactions(transactions, "chunks");
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Transaction> imported = new ArrayList<>();
+        ImportReport report = service.importTransactions(file, chunk -> {
+            chunkSizes.add(chunk.size());
+            imported.addAll(chunk);
+        }, 10);
+
+        assertEquals(List.of(10, 10, 5), chunkSizes);
+        assertEquals(25, report.getImportedCount());
+        assertEquals("id-24", imported.get(24).getId());
+    }
+
+    @Test
+    void testParallelCsvImportKeepsFileOrder() throws Exception {
+        Path file = writeCsv(1000);
+        CsvExportService service = new CsvExportService();
+        List<Transaction> sequential = new ArrayList<>();
+        ImportReport expected = service.importTransactions(file.toString(), sequential::addAll);
+
+        List<Transaction> parallel = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ImportReport report = service.importTransactionsParallel(file.toString(), parallel::addAll, pool, 64);
+        pool.shutdown();
+
+        assertEquals(1000, report.getImportedCount());
+        assertEquals(expected.getErrorSamples(), report.getErrorSamples());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals("id-" + i, parallel.get(i).getId());
+            assertEquals(sequential.get(i).getDescription(), parallel.get(i).getDescription());
+        }
+    }
+
+    @Test
+    void testStreamingExportRoundTrip() throws Exception {
+        List<Transaction> transactions = List.of(
+                new Transaction("id-1", "Food", 1234.5, Transaction.Type.EXPENSE,
+                        LocalDate.of(2024, 1, 5), "Dinner, \"with\" friends\nand family"),
+                new Transaction("id-2", "Salary", 100, Transaction.Type.INCOME, LocalDate.of(2024, 1, 6), ""),
+                new Transaction("id-3", "Misc", 0.07, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 7), "Tip"));
+
+        for (ExportService service : List.of(new CsvExportService(CompressionFormat.NONE, dir()),
+                new JsonExportService(CompressionFormat.NONE, dir()),
+                new ColumnarExportService(ColumnarExportService.DEFAULT_ROW_GROUP_SIZE, dir()))) {
+            Path file = Paths.get(service.exportTransactions(transactions, "roundtrip_test"));
+            assertEquals(dataDir, file.getParent());
+            List<Transaction> imported = service.importTransactions(file.toString());
+            assertEquals(transactions.size(), imported.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                assertEquals(transactions.get(i).getId(), imported.get(i).getId());
+                assertEquals(transactions.get(i).getAmount(), imported.get(i).getAmount());
+                assertEquals(transactions.get(i).getDate(), imported.get(i).getDate());
+                assertEquals(transactions.get(i).getDescription(), imported.get(i).getDescription());
+                assertEquals(transactions.get(i).getType(), imported.get(i).getType());
+            }
+        }
+    }
+
+    @Test
+    void testCompressedExportsAreDetectedOnImport() throws Exception {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            transactions.add(new Transaction("id-" + i, "Food", i + 0.5, Transaction.Type.EXPENSE,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), "Row " + i));
+        }
+
+        for (CompressionFormat compression : CompressionFormat.values()) {
+            for (ExportService service : List.of(new CsvExportService(compression, dir()),
+                    new JsonExportService(compression, dir()))) {
+                Path file = Paths.get(service.exportTransactions(transactions, "compressed_test"));
+                assertTrue(file.toString().endsWith(compression.getExtension()));
+                List<Transaction> imported = service.importTransactions(file.toString());
+                assertEquals(transactions.size(), imported.size());
+                assertEquals("id-4999", imported.get(4999).getId());
+                assertEquals(4999.5, imported.get(4999).getAmount());
+            }
+        }
+    }
+
+    @Test
+    void testCompressedImportRejectsOversizedFrames() throws Exception {
+        Path file = dataDir.resolve("hostile.csv.fmz");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x464D5A31);
+            out.writeInt(Integer.MAX_VALUE - 8);
+            out.writeInt(16);
+            out.write(new byte[16]);
+        }
+
+        assertThrows(RuntimeException.class, () -> new CsvExportService().importTransactions(file.toString()));
+    }
+
+    @Test
+    void testColumnarImportSkipsRowGroupsOutsidePeriod() throws Exception {
+        List<Transaction> transactions = new ArrayList<>();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 1000; i++) {
+            transactions.add(new Transaction(UUID.randomUUID().toString(), "Cat" + (i % 3), i + 1,
+                    i % 2 == 0 ? Transaction.Type.EXPENSE : Transaction.Type.INCOME, start.plusDays(i / 10), "Row " + i));
+        }
+
+        ColumnarExportService service = new ColumnarExportService(100, dir());
+        Path file = Paths.get(service.exportTransactions(transactions, "columnar_test"));
+        List<Transaction> imported = new ArrayList<>();
+        int decodedGroups = service.scan(file.toString(), start.plusDays(25), start.plusDays(34), imported::add);
+
+        assertEquals(2, decodedGroups);
+        assertEquals(100, imported.size());
+        assertEquals(transactions.get(250).getId(), imported.get(0).getId());
+        assertEquals("Cat1", imported.get(0).getCategory());
+        assertEquals(Transaction.Type.EXPENSE, imported.get(0).getType());
+        assertEquals(350.0, imported.get(99).getAmount());
+        assertEquals(Transaction.Type.INCOME, imported.get(99).getType());
+    }
+
+    @Test
+    void testExportCursorStorePersistsPerKey() {
+        ExportCursorStore cursorStore = new ExportCursorStore(dir());
+        assertEquals(0, cursorStore.load("alice.csv"));
+
+        cursorStore.save("alice.csv", 42);
+        cursorStore.save("alice.json", 7);
+
+        ExportCursorStore reopened = new ExportCursorStore(dir());
+        assertEquals(42, reopened.load("alice.csv"));
+        assertEquals(7, reopened.load("alice.json"));
+        assertEquals(0, reopened.load("bob.csv"));
+    }
+
+    @Test
+    void testIncrementalExportsDoNotOverwriteEachOther() throws Exception {
+        Wallet wallet = new Wallet("alice");
+        for (int i = 0; i < 3; i++) {
+            wallet.addTransaction(new Transaction("id-" + i, "Food", i + 1, Transaction.Type.EXPENSE,
+                    LocalDate.of(2024, 1, 1), ""));
+        }
+        ExportService service = new CsvExportService(CompressionFormat.NONE, dir());
+        ExportCursorStore cursorStore = new ExportCursorStore(dir());
+
+        Path first = Paths.get(service.exportIncremental(wallet, TransactionFilter.ALL, "alice_2024-01-01",
+                cursorStore, "alice.csv"));
+        wallet.addTransaction(new Transaction("id-3", "Food", 4, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 2), ""));
+        wallet.addTransaction(new Transaction("id-4", "Food", 5, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 2), ""));
+        Path second = Paths.get(service.exportIncremental(wallet, TransactionFilter.ALL, "alice_2024-01-01",
+                cursorStore, "alice.csv"));
+
+        assertNotEquals(first, second);
+        assertEquals(List.of("id-0", "id-1", "id-2"), idsOf(service.importTransactions(first.toString())));
+        assertEquals(List.of("id-3", "id-4"), idsOf(service.importTransactions(second.toString())));
+        assertEquals(5, cursorStore.load("alice.csv"));
+    }
+
+    @Test
+    void testFilteredIncrementalExportKeepsItsOwnCursor() {
+        Wallet wallet = new Wallet("alice");
+        wallet.addTransaction(new Transaction("food-1", "Food", 1, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), ""));
+        wallet.addTransaction(new Transaction("rent-1", "Rent", 2, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), ""));
+        ExportService service = new CsvExportService(CompressionFormat.NONE, dir());
+        ExportCursorStore cursorStore = new ExportCursorStore(dir());
+
+        String food = service.exportIncremental(wallet, TransactionFilter.ALL.withCategories(Set.of("Food")),
+                "food", cursorStore, "alice.csv");
+        String all = service.exportIncremental(wallet, TransactionFilter.ALL, "all", cursorStore, "alice.csv");
+
+        assertEquals(List.of("food-1"), idsOf(service.importTransactions(food)));
+        assertEquals(List.of("food-1", "rent-1"), idsOf(service.importTransactions(all)));
+    }
+
+    @Test
+    void testIncrementalExportRestartsAfterWalletIsCleared() {
+        Wallet wallet = new Wallet("alice");
+        for (int i = 0; i < 3; i++) {
+            wallet.addTransaction(new Transaction("a" + i, "Food", 1, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), ""));
+        }
+        ExportService service = new CsvExportService(CompressionFormat.NONE, dir());
+        ExportCursorStore cursorStore = new ExportCursorStore(dir());
+        service.exportIncremental(wallet, TransactionFilter.ALL, "before", cursorStore, "alice.csv");
+
+        wallet.clearTransactions();
+        for (int i = 0; i < 4; i++) {
+            wallet.addTransaction(new Transaction("b" + i, "Food", 1, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 2), ""));
+        }
+        String after = service.exportIncremental(wallet, TransactionFilter.ALL, "after", cursorStore, "alice.csv");
+
+        assertEquals(List.of("b0", "b1", "b2", "b3"), idsOf(service.importTransactions(after)));
+    }
+
+    private List<String> idsOf(List<Transaction> transactions) {
+        List<String> ids = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            ids.add(transaction.getId());
+        }
+        return ids;
+    }
+}
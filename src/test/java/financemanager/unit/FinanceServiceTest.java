@@ -1,9 +1,15 @@
 package financemanager.unit;
 
+import financemanager.core.model.Transaction;
 import financemanager.core.service.*;
 import financemanager.core.exception.*;
 import org.junit.jupiter.api.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -111,6 +117,41 @@ class FinanceServiceTest {
         assertFalse(budgetStatus.get("Food").exceeded);
     }
 
+    @Test
+    void testImportSkipsKnownIdsWhileBatchAddKeepsThem() {
+        financeService.register("batch1", "password123");
+        financeService.login("batch1", "password123");
+
+        Transaction salary = new Transaction("bank-1", "Salary", 1000, Transaction.Type.INCOME, LocalDate.now(), "");
+        assertEquals(1, financeService.importTransactions(List.of(salary)));
+        assertEquals(0, financeService.importTransactions(List.of(salary)));
+
+        financeService.addTransactions(List.of(salary));
+        assertEquals(2, financeService.getSummary().transactionCount);
+        assertEquals(2000, financeService.getSummary().balance);
+    }
+
+    @Test
+    void testDashboard() {
+        financeService.register("dashboard1", "password123");
+        financeService.login("dashboard1", "password123");
+
+        financeService.addIncome("Salary", 50000, "", LocalDate.now());
+        financeService.setBudget("Food", 5000);
+        financeService.addExpense("Food", 3000, "Restaurant", LocalDate.now());
+        financeService.addExpense("Transport", 500, "Taxi", LocalDate.now());
+
+        FinanceService.Dashboard dashboard = financeService.getDashboard(2);
+        assertEquals(50000, dashboard.summary.totalIncome);
+        assertEquals(3500, dashboard.summary.totalExpense);
+        assertEquals(3, dashboard.summary.transactionCount);
+        assertEquals(3000, dashboard.categories.get("Food").totalExpense);
+        assertEquals(3000, dashboard.budgets.get("Food").spent);
+        assertEquals(2, dashboard.recentTransactions.size());
+        assertEquals("Transport", dashboard.recentTransactions.get(1).getCategory());
+        assertTrue(financeService.getDashboard(0).recentTransactions.isEmpty());
+    }
+
     @Test
     void testTransferBetweenUsers() {
         financeService.register("sender1", "password123");
@@ -301,4 +342,46 @@ class FinanceServiceTest {
         assertEquals(70000, balanceB);
         assertNotEquals(balanceA, balanceB);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSessionsAreIndependent() {
+        financeService.register("sessionA", "password123");
+        financeService.register("sessionB", "password123");
+        Session sessionA = financeService.openSession("sessionA", "password123");
+        Session sessionB = financeService.openSession("sessionB", "password123");
+
+        sessionA.addIncome("Salary", 1000, "Pay", LocalDate.now());
+        sessionB.addExpense("Food", 300, "Lunch", LocalDate.now());
+
+        assertEquals(1000, sessionA.getSummary().balance);
+        assertEquals(-300, sessionB.getSummary().balance);
+        assertTrue(sessionA.getNotificationService().getNotifications().isEmpty());
+        assertFalse(sessionB.getNotificationService().getNotifications().isEmpty());
+        assertFalse(financeService.isUserLoggedIn());
+    }
+
+    @Test
+    void testConcurrentSessionsKeepAllTransactions() throws Exception {
+        int threads = 8;
+        int perThread = 1000;
+        financeService.register("concurrent", "password123");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Session session = financeService.openSession("concurrent", "password123");
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    session.addIncome("Salary", 1, "Pay", LocalDate.now());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Session session = financeService.openSession("concurrent", "password123");
+        assertEquals(threads * perThread, session.getSummary().transactionCount);
+        assertEquals(threads * perThread, session.getSummary().balance);
+    }
+}
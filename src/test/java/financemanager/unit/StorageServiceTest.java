@@ -0,0 +1,360 @@
+package financemanager.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionFilter;
+import financemanager.core.model.User;
+import financemanager.core.model.Wallet;
+import financemanager.core.service.*;
+import financemanager.infrastructure.json_models.UserData;
+import financemanager.infrastructure.storage.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageServiceTest {
+    @TempDir
+    Path dataDir;
+
+    private String dir() {
+        return dataDir.toString() + "/";
+    }
+
+    private void populate(FinanceService financeService) {
+        financeService.register("alice", "password123");
+        financeService.register("bob", "password123");
+        financeService.login("alice", "password123");
+        financeService.addIncome("Salary", 50000, "", LocalDate.now());
+        financeService.setBudget("Food", 10000);
+        financeService.addExpense("Food", 3000, "Lunch", LocalDate.of(2024, 1, 5));
+        financeService.addCategory("Travel");
+        financeService.transfer("bob", 1000, "Gift");
+    }
+
+    private void assertPopulated(Map<String, User> users) {
+        assertEquals(2, users.size());
+        Wallet alice = users.get("alice").getWallet();
+        assertEquals(46000, alice.getBalance());
+        assertEquals(3000, alice.getBudgets().get("Food").getSpent());
+        assertTrue(alice.getCategories().contains("Travel"));
+        assertEquals(LocalDate.of(2024, 1, 5), alice.getTransactionsByCategory("Food").get(0).getDate());
+        assertEquals(1000, users.get("bob").getWallet().getBalance());
+        assertTrue(users.get("bob").verifyPassword("password123"));
+    }
+
+    @Test
+    void testJournalReplayWithoutSnapshot() {
+        JournalFileService journal = new JournalFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), journal);
+        financeService.initializeUsers(journal.loadUsers());
+        populate(financeService);
+
+        assertFalse(Files.exists(dataDir.resolve("users.json")));
+        assertPopulated(new JournalFileService(dir()).loadUsers());
+    }
+
+    @Test
+    void testJournalCompactionKeepsStateAndTruncatesLog() throws Exception {
+        JournalFileService journal = new JournalFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), journal);
+        financeService.initializeUsers(journal.loadUsers());
+        populate(financeService);
+
+        journal.saveUsers(financeService.getUsers());
+        financeService.addExpense("Food", 500, "Dinner", LocalDate.now());
+        journal.close();
+
+        assertEquals(1, Files.readAllLines(dataDir.resolve("journal.log")).size());
+        Map<String, User> users = new JournalFileService(dir()).loadUsers();
+        assertEquals(45500, users.get("alice").getWallet().getBalance());
+    }
+
+    @Test
+    void testJournalIgnoresTornLastEntry() throws Exception {
+        JournalFileService journal = new JournalFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), journal);
+        financeService.initializeUsers(journal.loadUsers());
+        populate(financeService);
+        journal.close();
+
+        Files.writeString(dataDir.resolve("journal.log"), "{\"operation\":\"TRANSA",
+                StandardOpenOption.APPEND);
+
+        assertPopulated(new JournalFileService(dir()).loadUsers());
+    }
+
+    @Test
+    void testJournalCompactsItselfAfterThreshold() throws Exception {
+        JournalFileService journal = new JournalFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), journal);
+        financeService.initializeUsers(journal.loadUsers());
+        populate(financeService);
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(new Transaction("Food", 1, Transaction.Type.EXPENSE, LocalDate.of(2024, 2, 1), ""));
+        }
+        financeService.addTransactions(batch);
+
+        assertFalse(journal.isSnapshotDue());
+        assertEquals(0, Files.size(dataDir.resolve("journal.log")));
+        journal.close();
+
+        Map<String, User> users = new JournalFileService(dir()).loadUsers();
+        assertEquals(10_003, users.get("alice").getWallet().getTransactions().size());
+    }
+
+    @Test
+    void testJournalRejectsCorruptedEntryBeforeTail() throws Exception {
+        JournalFileService journal = new JournalFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), journal);
+        financeService.initializeUsers(journal.loadUsers());
+        populate(financeService);
+        journal.close();
+
+        Path journalPath = dataDir.resolve("journal.log");
+        List<String> lines = new ArrayList<>(Files.readAllLines(journalPath));
+        lines.set(1, "{\"operation\":\"TRANSA");
+        Files.write(journalPath, lines);
+        long size = Files.size(journalPath);
+
+        assertThrows(RuntimeException.class, () -> new JournalFileService(dir()).loadUsers());
+        assertEquals(size, Files.size(journalPath));
+    }
+
+    @Test
+    void testShardedStorageLoadsWalletsLazily() throws Exception {
+        ShardedFileService sharded = new ShardedFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), sharded);
+        financeService.initializeUsers(sharded.loadUsers());
+        populate(financeService);
+        sharded.saveUsers(financeService.getUsers());
+
+        assertTrue(Files.exists(dataDir.resolve("users_index.json")));
+        assertTrue(Files.exists(dataDir.resolve("alice_data.json")));
+
+        Map<String, User> users = new ShardedFileService(dir()).loadUsers();
+        assertFalse(users.get("alice").isWalletLoaded());
+        assertFalse(users.get("bob").isWalletLoaded());
+        assertPopulated(users);
+    }
+
+    @Test
+    void testShardedStorageWritesOnlyDirtyShards() throws Exception {
+        ShardedFileService sharded = new ShardedFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), sharded);
+        financeService.initializeUsers(sharded.loadUsers());
+        populate(financeService);
+        sharded.saveUsers(financeService.getUsers());
+
+        ShardedFileService reloaded = new ShardedFileService(dir());
+        FinanceService session = new FinanceService(new NotificationService(), reloaded);
+        session.initializeUsers(reloaded.loadUsers());
+        Files.delete(dataDir.resolve("bob_data.json"));
+        session.login("alice", "password123");
+        session.addExpense("Food", 500, "", LocalDate.now());
+        reloaded.saveUsers(session.getUsers());
+
+        assertFalse(session.getUsers().get("bob").isWalletLoaded());
+        assertFalse(Files.exists(dataDir.resolve("bob_data.json")));
+        assertEquals(45500, new ShardedFileService(dir()).loadUsers().get("alice").getWallet().getBalance());
+    }
+
+    @Test
+    void testShardedStorageWritesMissingShardsForForeignMaps() {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+
+        new ShardedFileService(dir()).saveUsers(financeService.getUsers());
+
+        assertTrue(Files.exists(dataDir.resolve("alice_data.json")));
+        assertTrue(Files.exists(dataDir.resolve("bob_data.json")));
+        assertPopulated(new ShardedFileService(dir()).loadUsers());
+    }
+
+    @Test
+    void testConvertRoundTripsEveryModePair() throws Exception {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+        List<String> modes = List.of("json", "json-compact", "journal", "sharded", "binary", "mapped");
+
+        for (String sourceMode : modes) {
+            for (String targetMode : modes) {
+                if (sourceMode.equals(targetMode)) {
+                    continue;
+                }
+                Path pairDir = Files.createDirectories(dataDir.resolve(sourceMode + "-" + targetMode));
+                String pairPath = pairDir + "/";
+                // Устаревший снимок не должен перекрыть сконвертированные данные.
+                new JsonFileService(pairPath).saveUsers(Map.of());
+                StorageService source = StorageServiceFactory.create(sourceMode, pairPath);
+                source.saveAllUsers(financeService.getUsers());
+                source.close();
+
+                assertEquals(2, StorageServiceFactory.convert(sourceMode, targetMode, pairPath));
+
+                StorageService target = StorageServiceFactory.create(targetMode, pairPath);
+                try {
+                    assertPopulated(target.loadUsers());
+                } catch (AssertionError e) {
+                    throw new AssertionError(sourceMode + " -> " + targetMode, e);
+                } finally {
+                    target.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStreamingJsonRoundTrip() {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+
+        JsonFileService compact = new JsonFileService(dir(), true);
+        compact.saveUsers(financeService.getUsers());
+
+        assertPopulated(new JsonFileService(dir()).loadUsers());
+    }
+
+    @Test
+    void testStreamingJsonReadsDatabindFormat() throws Exception {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.writeValue(dataDir.resolve("users.json").toFile(), financeService.getUsers().values().stream()
+                .map(UserData::new).toList());
+
+        assertPopulated(new JsonFileService(dir()).loadUsers());
+    }
+
+    @Test
+    void testBinaryRoundTripAndConversionFromJson() {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+        financeService.login("alice", "password123");
+        financeService.importTransactions(List.of(new Transaction(
+                "bank-42", "Food", 0.5, Transaction.Type.EXPENSE, LocalDate.now(), "")));
+
+        new JsonFileService(dir()).saveUsers(financeService.getUsers());
+        BinaryFileService binary = new BinaryFileService(dir());
+        binary.saveUsers(new JsonFileService(dir()).loadUsers());
+
+        Map<String, User> users = new BinaryFileService(dir()).loadUsers();
+        assertEquals(45999.5, users.get("alice").getWallet().getBalance());
+        assertEquals("bank-42", users.get("alice").getWallet().getTransactions().get(3).getId());
+        assertEquals(financeService.getUsers().get("alice").getWallet().getTransactions().get(0).getId(),
+                users.get("alice").getWallet().getTransactions().get(0).getId());
+        assertEquals(3000.5, users.get("alice").getWallet().getBudgets().get("Food").getSpent());
+    }
+
+    @Test
+    void testStreamingLoadsFeedWalletInBatches() {
+        User user = new User("carol", "password123");
+        Wallet wallet = user.getWallet();
+        wallet.setBudget("Food", 1_000_000);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            transactions.add(new Transaction("Food", 1, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), ""));
+        }
+        wallet.addTransactions(transactions);
+        wallet.addTransaction(new Transaction("Salary", 100_000, Transaction.Type.INCOME, ""));
+
+        for (StorageService storage : List.of(new JsonFileService(dir()), new BinaryFileService(dir()))) {
+            storage.saveUsers(Map.of("carol", user));
+            Wallet loaded = storage.loadUsers().get("carol").getWallet();
+            assertEquals(25_001, loaded.getTransactions().size());
+            assertEquals(75_000, loaded.getBalance());
+            assertEquals(25_000, loaded.getBudgets().get("Food").getSpent());
+        }
+    }
+
+    @Test
+    void testMappedColumnsKeepHistoryOffHeap() {
+        FinanceService financeService = new FinanceService(new NotificationService());
+        populate(financeService);
+        MappedFileService mapped = new MappedFileService(dir());
+        mapped.saveUsers(financeService.getUsers());
+        mapped.close();
+
+        MappedFileService reloaded = new MappedFileService(dir());
+        Map<String, User> users = reloaded.loadUsers();
+        assertPopulated(users);
+        Wallet alice = users.get("alice").getWallet();
+        assertInstanceOf(MappedTransactionStore.class, alice.getTransactionStore());
+
+        alice.addTransaction(new Transaction("Food", 250,
+                Transaction.Type.EXPENSE, LocalDate.of(2023, 12, 31), "Old"));
+        assertEquals(2, alice.getTransactionsByCategory("Food").size());
+        assertEquals("Old", alice.getTransactionsByCategory("Food").get(1).getDescription());
+        List<Transaction> newFood = alice.selectTransactions(
+                TransactionFilter.ALL.withCategories(Set.of("Food", "Salary")).withRows(1, 4));
+        assertEquals(List.of(3000.0, 250.0), newFood.stream().map(Transaction::getAmount).toList());
+        var expenses = alice.getExpensesByPeriod(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 31));
+        assertEquals(3250, expenses.get("Food"));
+        assertEquals(LocalDate.of(2023, 12, 31),
+                alice.getTransactionsByPeriod(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)).get(0).getDate());
+        reloaded.saveUsers(users);
+        reloaded.close();
+
+        Wallet reopened = new MappedFileService(dir()).loadUsers().get("alice").getWallet();
+        assertEquals(45750, reopened.getBalance());
+        assertEquals(3250, reopened.getBudgets().get("Food").getSpent());
+        assertEquals("Old", reopened.getTransactions().get(3).getDescription());
+    }
+
+    @Test
+    void testMappedStorageAttachesColumnsToNewUsers() {
+        MappedFileService mapped = new MappedFileService(dir());
+        FinanceService financeService = new FinanceService(new NotificationService(), FinanceEventListener.NONE,
+                mapped::createTransactionStore);
+        financeService.initializeUsers(mapped.loadUsers());
+        populate(financeService);
+
+        Wallet alice = financeService.getUsers().get("alice").getWallet();
+        assertInstanceOf(MappedTransactionStore.class, alice.getTransactionStore());
+        mapped.saveUsers(financeService.getUsers());
+        financeService.login("alice", "password123");
+        financeService.addExpense("Food", 500, "Dinner", LocalDate.now());
+        mapped.saveUsers(financeService.getUsers());
+        mapped.close();
+
+        Wallet reloaded = new MappedFileService(dir()).loadUsers().get("alice").getWallet();
+        assertEquals(4, reloaded.getTransactions().size());
+        assertEquals(45500, reloaded.getBalance());
+        assertEquals(3500, reloaded.getBudgets().get("Food").getSpent());
+    }
+
+    @Test
+    void testMappedOpenEndedPeriodMatchesCompactStore() throws Exception {
+        Transaction undated = Transaction.ofMinor(null, "Food", 3000, Transaction.Type.EXPENSE, null, "Undated");
+        Transaction january = new Transaction("Food", 20, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), "");
+        Transaction march = new Transaction("Food", 10, Transaction.Type.EXPENSE, LocalDate.of(2024, 3, 1), "");
+        List<List<Transaction>> layouts = List.of(List.of(undated, january, march), List.of(march, undated, january));
+
+        for (int i = 0; i < layouts.size(); i++) {
+            CompactTransactionStore compact = new CompactTransactionStore();
+            compact.addAll(layouts.get(i));
+            List<Integer> expected = new ArrayList<>();
+            compact.forEachInPeriod(Long.MIN_VALUE + 1, Long.MAX_VALUE, expected::add);
+
+            try (MappedTransactionStore store = new MappedTransactionStore(dataDir.resolve("layout" + i))) {
+                store.addAll(layouts.get(i));
+                List<Integer> visited = new ArrayList<>();
+                store.forEachInPeriod(Long.MIN_VALUE + 1, Long.MAX_VALUE, visited::add);
+                assertEquals(expected, visited);
+                assertEquals(2, visited.size());
+            }
+        }
+    }
+}
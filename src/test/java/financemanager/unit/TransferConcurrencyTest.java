@@ -0,0 +1,77 @@
+package financemanager.unit;
+
+import financemanager.core.exception.InsufficientFundsException;
+import financemanager.core.model.User;
+import financemanager.core.service.*;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferConcurrencyTest {
+    private static final int USERS = 8;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 2000;
+    private static final double INITIAL_BALANCE = 1000;
+
+    private FinanceService financeService;
+    private List<Session> sessions;
+
+    @BeforeEach
+    void setUp() {
+        financeService = new FinanceService(new NotificationService());
+        sessions = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            financeService.register("user" + i, "password");
+            Session session = financeService.openSession("user" + i, "password");
+            session.addIncome("Salary", INITIAL_BALANCE, "Initial", LocalDate.now());
+            sessions.add(session);
+        }
+    }
+
+    @Test
+    void testConcurrentCrossTransfersConserveMoney() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                int rejected = 0;
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(USERS);
+                    int to = (from + 1 + random.nextInt(USERS - 1)) % USERS;
+                    try {
+                        sessions.get(from).transfer("user" + to, 1 + random.nextInt(300), "Stress");
+                    } catch (InsufficientFundsException e) {
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+        start.countDown();
+
+        int rejected = 0;
+        for (Future<Integer> future : futures) {
+            rejected += future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        double total = 0;
+        int transactions = 0;
+        for (User user : financeService.getUsers().values()) {
+            double balance = user.getWallet().getBalance();
+            assertTrue(balance >= 0, "Баланс ушёл в минус: " + user.getLogin());
+            assertEquals(user.getWallet().getTotalIncome() - user.getWallet().getTotalExpense(), balance);
+            total += balance;
+            transactions += user.getWallet().getTransactions().size();
+        }
+        int completed = THREADS * TRANSFERS_PER_THREAD - rejected;
+        assertEquals(USERS * INITIAL_BALANCE, total);
+        assertEquals(USERS + 2 * completed, transactions);
+    }
+}
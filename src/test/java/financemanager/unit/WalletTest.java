@@ -0,0 +1,256 @@
+package financemanager.unit;
+
+import financemanager.core.model.AggregationEngine;
+import financemanager.core.model.CategoryTotals;
+import financemanager.core.model.CompactTransactionStore;
+import financemanager.core.model.Money;
+import financemanager.core.model.Transaction;
+import financemanager.core.model.TransactionFilter;
+import financemanager.core.model.Wallet;
+import financemanager.infrastructure.json_models.WalletData;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletTest {
+
+    private Wallet createWallet() {
+        Wallet wallet = new Wallet("user");
+        wallet.addTransaction(new Transaction("Salary", 50000, Transaction.Type.INCOME, ""));
+        wallet.addTransaction(new Transaction("Food", 3000, Transaction.Type.EXPENSE, ""));
+        wallet.addTransaction(new Transaction("Food", 2000, Transaction.Type.EXPENSE, ""));
+        wallet.addTransaction(new Transaction("Transport", 500, Transaction.Type.EXPENSE, ""));
+        return wallet;
+    }
+
+    @Test
+    void testAggregatesAfterAddTransaction() {
+        Wallet wallet = createWallet();
+
+        assertEquals(50000, wallet.getTotalIncome());
+        assertEquals(5500, wallet.getTotalExpense());
+        assertEquals(50000, wallet.getIncomeByCategory("Salary"));
+        assertEquals(5000, wallet.getExpenseByCategory("Food"));
+        assertEquals(0, wallet.getExpenseByCategory("Salary"));
+        assertEquals(0, wallet.getIncomeByCategory("Unknown"));
+    }
+
+    @Test
+    void testBatchMatchesSingleAdds() {
+        Wallet wallet = new Wallet("user");
+        wallet.setBudget("Food", 4000);
+        Set<String> touched = wallet.addTransactions(List.of(
+                new Transaction("Salary", 50000, Transaction.Type.INCOME, ""),
+                new Transaction("Food", 3000, Transaction.Type.EXPENSE, ""),
+                new Transaction("Food", 2000, Transaction.Type.EXPENSE, ""),
+                new Transaction("Transport", 500, Transaction.Type.EXPENSE, "")));
+
+        assertEquals(Set.of("Salary", "Food", "Transport"), touched);
+        assertEquals(4, wallet.getTransactions().size());
+        assertEquals(44500, wallet.getBalance());
+        assertEquals(5000, wallet.getExpenseByCategory("Food"));
+        assertEquals(5000, wallet.getBudgets().get("Food").getSpent());
+        assertFalse(wallet.hasTransactionsInCategory("Unknown"));
+        assertEquals(0, wallet.getExpenseByCategory("Salary"));
+    }
+
+    @Test
+    void testImportSkipsKnownTransactionIds() {
+        Wallet wallet = new Wallet("user");
+        Transaction salary = new Transaction("Salary", 1000, Transaction.Type.INCOME, "");
+        Transaction food = new Transaction("legacy-1", "Food", 300, Transaction.Type.EXPENSE, LocalDate.now(), "");
+        wallet.addTransaction(salary);
+
+        List<Transaction> imported = wallet.importTransactions(List.of(salary, food, food));
+        assertEquals(List.of(food), imported);
+        assertTrue(wallet.importTransactions(List.of(salary, food)).isEmpty());
+
+        assertEquals(2, wallet.getTransactions().size());
+        assertEquals(700, wallet.getBalance());
+        assertTrue(wallet.containsTransaction(food.getId()));
+        assertFalse(wallet.containsTransaction("unknown"));
+    }
+
+    @Test
+    void testAmountsAreSummedExactlyInMinorUnits() {
+        Wallet wallet = new Wallet("user");
+        wallet.setBudget("Food", 100);
+        for (int i = 0; i < 1000; i++) {
+            wallet.addTransaction(new Transaction("Food", 0.1, Transaction.Type.EXPENSE, ""));
+        }
+
+        assertEquals(10_000, wallet.getTotalExpenseMinor());
+        assertEquals(100.0, wallet.getExpenseByCategory("Food"));
+        assertEquals(-100.0, wallet.getBalance());
+        assertFalse(wallet.getBudgets().get("Food").isExceeded());
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(-7, Money.parse("-0.07"));
+        assertEquals(10_000, Money.parse("1e2"));
+        assertEquals("-1234.05", Money.toString(-123_405));
+    }
+
+    @Test
+    void testCompactStoreRebuildsTransactionsOnDemand() {
+        CompactTransactionStore store = new CompactTransactionStore();
+        Transaction uuidRow = new Transaction("Еда", 12.34, Transaction.Type.EXPENSE, LocalDate.of(2024, 5, 1), "Обед в кафе");
+        Transaction textRow = new Transaction("legacy-7", "Salary", 1000, Transaction.Type.INCOME, null, "");
+        store.addAll(List.of(uuidRow, textRow));
+
+        Transaction first = store.get(0);
+        assertEquals(uuidRow.getId(), first.getId());
+        assertEquals("Еда", first.getCategory());
+        assertEquals(1234, first.getAmountMinor());
+        assertEquals(LocalDate.of(2024, 5, 1), first.getDate());
+        assertEquals("Обед в кафе", first.getDescription());
+        assertTrue(first.isExpense());
+        assertEquals("legacy-7", store.id(1));
+        assertNull(store.get(1).getDate());
+        assertEquals("", store.get(1).getDescription());
+
+        List<Integer> rows = new ArrayList<>();
+        store.forEachInPeriod(LocalDate.of(2024, 1, 1).toEpochDay(), LocalDate.of(2024, 12, 31).toEpochDay(), rows::add);
+        assertEquals(List.of(0), rows);
+    }
+
+    @Test
+    void testSelectTransactionsByFilter() {
+        Wallet wallet = new Wallet("user");
+        wallet.addTransaction(new Transaction("Salary", 1000, Transaction.Type.INCOME, LocalDate.of(2024, 1, 1), ""));
+        wallet.addTransaction(new Transaction("Food", 10, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 2), ""));
+        wallet.addTransaction(new Transaction("Food", 20, Transaction.Type.EXPENSE, LocalDate.of(2024, 2, 1), ""));
+        wallet.addTransaction(new Transaction("Taxi", 30, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 3), ""));
+
+        TransactionFilter january = TransactionFilter.ALL.withPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        assertEquals(3, wallet.selectTransactions(january).size());
+        assertEquals(2, wallet.selectTransactions(january.withType(Transaction.Type.EXPENSE)).size());
+        assertEquals(1, wallet.selectTransactions(january.withCategories(Set.of("Food"))).size());
+
+        List<Transaction> newRows = wallet.selectTransactions(TransactionFilter.ALL.withRows(2, 4));
+        assertEquals(List.of(20.0, 30.0), newRows.stream().map(Transaction::getAmount).toList());
+        assertEquals(1, wallet.selectTransactions(january.withRows(2, 4)).size());
+
+        List<Transaction> foodAndTaxi = wallet.selectTransactions(
+                TransactionFilter.ALL.withCategories(Set.of("Taxi", "Food")).withRows(1, 4));
+        assertEquals(List.of(10.0, 20.0, 30.0), foodAndTaxi.stream().map(Transaction::getAmount).toList());
+
+        List<Transaction> view = wallet.selectTransactionView(january.withType(Transaction.Type.EXPENSE));
+        assertEquals(List.of(10.0, 30.0), view.stream().map(Transaction::getAmount).toList());
+    }
+
+    @Test
+    void testExpensesByCategoriesSkipsCategoriesWithoutExpenses() {
+        Wallet wallet = createWallet();
+
+        var expenses = wallet.getExpensesByCategories(Set.of("Food", "Salary"));
+
+        assertEquals(1, expenses.size());
+        assertEquals(5000, expenses.get("Food"));
+    }
+
+    @Test
+    void testAggregatesAfterClearAndImport() {
+        Wallet wallet = createWallet();
+        wallet.clearTransactions();
+
+        assertEquals(0, wallet.getTotalIncome());
+        assertEquals(0, wallet.getTotalExpense());
+        assertEquals(0, wallet.getExpenseByCategory("Food"));
+
+        wallet.importTransactions(List.of(
+                new Transaction("Food", 700, Transaction.Type.EXPENSE, LocalDate.now(), "")));
+
+        assertEquals(700, wallet.getTotalExpense());
+        assertEquals(700, wallet.getExpenseByCategory("Food"));
+    }
+
+    @Test
+    void testAggregatesAfterRestore() {
+        Wallet original = createWallet();
+        Wallet restored = new WalletData(original).toWallet("user");
+
+        assertEquals(original.getTotalIncome(), restored.getTotalIncome());
+        assertEquals(original.getTotalExpense(), restored.getTotalExpense());
+        assertEquals(original.getExpenseByCategory("Food"), restored.getExpenseByCategory("Food"));
+        assertEquals(original.getBalance(), restored.getBalance());
+    }
+
+    @Test
+    void testPeriodQueriesUseOnlyTransactionsInRange() {
+        Wallet wallet = new Wallet("user");
+        LocalDate day = LocalDate.of(2024, 3, 15);
+        wallet.addTransaction(new Transaction("Food", 100, Transaction.Type.EXPENSE, day.minusDays(1), ""));
+        wallet.addTransaction(new Transaction("Food", 200, Transaction.Type.EXPENSE, day, ""));
+        wallet.addTransaction(new Transaction("Salary", 1000, Transaction.Type.INCOME, day, ""));
+        wallet.addTransaction(new Transaction("Transport", 50, Transaction.Type.EXPENSE, day.plusDays(1), ""));
+
+        var expenses = wallet.getExpensesByPeriod(day, day.plusDays(1));
+        assertEquals(2, expenses.size());
+        assertEquals(200, expenses.get("Food"));
+        assertEquals(50, expenses.get("Transport"));
+
+        List<Transaction> transactions = wallet.getTransactionsByPeriod(day.minusDays(1), day);
+        assertEquals(3, transactions.size());
+        assertEquals(day.minusDays(1), transactions.get(0).getDate());
+    }
+
+    @Test
+    void testCategoryIndex() {
+        Wallet wallet = createWallet();
+
+        assertTrue(wallet.hasTransactionsInCategory("Food"));
+        assertFalse(wallet.hasTransactionsInCategory("Health"));
+        assertEquals(2, wallet.getTransactionsByCategory("Food").size());
+        assertTrue(wallet.getTransactionsByCategory("Health").isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> wallet.getTransactionsByCategory("Food").clear());
+
+        wallet.clearTransactions();
+        assertFalse(wallet.hasTransactionsInCategory("Food"));
+    }
+
+    @Test
+    void testSetBudgetSeedsSpentFromExpenses() {
+        Wallet wallet = createWallet();
+        wallet.addTransaction(new Transaction("Food", 400, Transaction.Type.INCOME, "Refund"));
+
+        wallet.setBudget("Food", 10000);
+
+        assertEquals(5000, wallet.getBudgets().get("Food").getSpent());
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        CompactTransactionStore store = new CompactTransactionStore();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 50_000; i++) {
+            Transaction.Type type = i % 3 == 0 ? Transaction.Type.INCOME : Transaction.Type.EXPENSE;
+            store.add(new Transaction("Category " + (i % 7), i % 1000 + 0.01, type, day.plusDays(i % 365), ""));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CategoryTotals sequential = new AggregationEngine(pool, Integer.MAX_VALUE).aggregate(store);
+            CategoryTotals parallel = new AggregationEngine(pool, 0).aggregate(store);
+
+            assertEquals(sequential.getTotalIncome(), parallel.getTotalIncome());
+            assertEquals(sequential.getTotalExpense(), parallel.getTotalExpense());
+            for (int categoryId = 0; categoryId < sequential.getCategoryCount(); categoryId++) {
+                assertEquals(sequential.getIncome(categoryId), parallel.getIncome(categoryId));
+                assertEquals(sequential.getExpense(categoryId), parallel.getExpense(categoryId));
+                assertEquals(sequential.getRows(categoryId), parallel.getRows(categoryId));
+            }
+
+            long startDay = day.plusDays(30).toEpochDay();
+            long endDay = day.plusDays(90).toEpochDay();
+            assertEquals(new AggregationEngine(pool, Integer.MAX_VALUE).aggregatePeriod(store, startDay, endDay)
+                            .getTotalExpense(),
+                    new AggregationEngine(pool, 0).aggregatePeriod(store, startDay, endDay).getTotalExpense());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}